@@ -0,0 +1,31 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.builder.item.StaticItemBuilder;
+import me.xflyiwnl.colorfulgui.object.StaticItem;
+import org.bukkit.Material;
+
+/**
+ * Item fixtures shared by the benchmarks.
+ */
+public final class BenchItems {
+
+    private BenchItems() {
+    }
+
+    /**
+     * Builds a static item with a no-op click action.
+     *
+     * @param material The item material
+     * @param name     The display name
+     * @return The built item
+     */
+    public static StaticItem item(Material material, String name) {
+        return new StaticItemBuilder()
+                .material(material)
+                .name(name)
+                .lore("&7Benchmark item", "&8Line two")
+                .action(event -> {})
+                .build();
+    }
+
+}
@@ -0,0 +1,28 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.entity.Player;
+
+import java.util.function.Consumer;
+
+/**
+ * Provider whose {@link #init()} is supplied by the benchmark.
+ *
+ * @param <T> The type of GUI provided
+ */
+public class BenchProvider<T extends Gui> extends ColorfulProvider<T> {
+
+    private final Consumer<T> init;
+
+    public BenchProvider(Player player, Consumer<T> init) {
+        super(player);
+        this.init = init;
+    }
+
+    @Override
+    public void init() {
+        init.accept(getGui());
+    }
+
+}
@@ -0,0 +1,60 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+/**
+ * Headless stand-in server shared by the benchmarks of one fork.
+ * MockBukkit provides the Bukkit implementation, so nothing here touches a real server.
+ */
+public final class BenchServer {
+
+    private static ServerMock server;
+
+    private BenchServer() {
+    }
+
+    /**
+     * Mocks the server and registers ColorfulGUI against a mock plugin.
+     * Calling this more than once in the same fork is a no-op.
+     */
+    public static synchronized void start() {
+        if (MockBukkit.isMocked()) {
+            return;
+        }
+        server = MockBukkit.mock();
+        JavaPlugin plugin = MockBukkit.createMockPlugin();
+        new ColorfulGUI(plugin);
+    }
+
+    /**
+     * Tears the mocked server down.
+     */
+    public static synchronized void stop() {
+        if (MockBukkit.isMocked()) {
+            MockBukkit.unmock();
+        }
+    }
+
+    /**
+     * Adds a new mocked player to the server.
+     *
+     * @return The new player
+     */
+    public static PlayerMock player() {
+        return server.addPlayer();
+    }
+
+    /**
+     * Retrieves the mocked server.
+     *
+     * @return The mocked server
+     */
+    public static ServerMock server() {
+        return server;
+    }
+
+}
@@ -0,0 +1,39 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ColorUtils#colorize(String)} for plain, legacy and gradient text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorUtilsBenchmark {
+
+    @Param({"plain", "legacy", "gradient"})
+    private String kind;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = switch (kind) {
+            case "plain" -> "Diamond Sword of the Ancients";
+            case "legacy" -> "&b&lDiamond &7Sword &8of the &6Ancients";
+            case "gradient" -> "<#55ffff>Diamond Sword of the Ancients</#ff55ff>";
+            default -> throw new IllegalStateException("Unexpected value: " + kind);
+        };
+    }
+
+    @Benchmark
+    public String colorize() {
+        return ColorUtils.colorize(text);
+    }
+
+}
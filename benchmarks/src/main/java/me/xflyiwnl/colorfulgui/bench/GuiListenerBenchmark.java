@@ -0,0 +1,88 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.builder.inventory.StaticGuiBuilder;
+import me.xflyiwnl.colorfulgui.listener.GuiListener;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GuiListener#onClick(InventoryClickEvent)}: resolving the
+ * clicked item of a ColorfulGUI menu, and rejecting a click in a foreign inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuiListenerBenchmark {
+
+    private final GuiListener listener = new GuiListener();
+
+    private InventoryClickEvent setItemClick;
+    private InventoryClickEvent addedItemClick;
+    private InventoryClickEvent foreignClick;
+
+    @Setup
+    public void setup() {
+        BenchServer.start();
+        PlayerMock viewer = BenchServer.player();
+        BenchProvider<Gui> provider = new BenchProvider<>(viewer, gui -> {
+            gui.setItem(0, BenchItems.item(Material.DIAMOND, "&bFirst"));
+            for (int i = 0; i < 44; i++) {
+                gui.addItem(BenchItems.item(Material.STONE, "&7Added " + i));
+            }
+        });
+        Gui gui = new StaticGuiBuilder()
+                .holder(provider)
+                .title("Clicks")
+                .rows(5)
+                .build();
+
+        InventoryView view = viewer.getOpenInventory();
+        setItemClick = click(view, 0);
+        addedItemClick = click(view, gui.getInventory().getSize() - 1);
+
+        PlayerMock other = BenchServer.player();
+        Inventory chest = BenchServer.server().createInventory(null, 27);
+        foreignClick = click(other.openInventory(chest), 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public InventoryClickEvent clickSetItem() {
+        listener.onClick(setItemClick);
+        return setItemClick;
+    }
+
+    @Benchmark
+    public InventoryClickEvent clickAddedItem() {
+        listener.onClick(addedItemClick);
+        return addedItemClick;
+    }
+
+    @Benchmark
+    public InventoryClickEvent clickForeignInventory() {
+        listener.onClick(foreignClick);
+        return foreignClick;
+    }
+
+    private static InventoryClickEvent click(InventoryView view, int slot) {
+        return new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+}
@@ -0,0 +1,63 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.builder.inventory.StaticGuiBuilder;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.object.GuiMask;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GuiMask#slots()} and {@link GuiMask#slots(String)} on a six row mask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuiMaskBenchmark {
+
+    private GuiMask mask;
+
+    @Setup
+    public void setup() {
+        BenchServer.start();
+        BenchProvider<Gui> provider = new BenchProvider<>(BenchServer.player(), gui -> {
+            gui.addMask("#", BenchItems.item(Material.GRAY_STAINED_GLASS_PANE, " "));
+            gui.addMask("b", BenchItems.item(Material.BLACK_STAINED_GLASS_PANE, " "));
+            gui.addMask("x", BenchItems.item(Material.BARRIER, "&cClose"));
+        });
+        Gui gui = new StaticGuiBuilder()
+                .holder(provider)
+                .title("Mask")
+                .rows(6)
+                .mask(
+                        "#########",
+                        "#b     b#",
+                        "#       #",
+                        "#       #",
+                        "#b     b#",
+                        "####x####")
+                .build();
+        mask = gui.getMask();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public List<Integer> allSlots() {
+        return mask.slots();
+    }
+
+    @Benchmark
+    public List<Integer> indicatorSlots() {
+        return mask.slots("#");
+    }
+
+}
@@ -0,0 +1,62 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.builder.inventory.StaticGuiBuilder;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link Gui#render()} of a six row menu with a mask border,
+ * a row of set items and a block of added items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuiRenderBenchmark {
+
+    private Gui gui;
+
+    @Setup
+    public void setup() {
+        BenchServer.start();
+        BenchProvider<Gui> provider = new BenchProvider<>(BenchServer.player(), gui -> {
+            gui.addMask("#", BenchItems.item(Material.GRAY_STAINED_GLASS_PANE, " "));
+            for (int col = 2; col <= 8; col++) {
+                gui.setItem(2, col, BenchItems.item(Material.DIAMOND, "&bSet " + col));
+            }
+            for (int i = 0; i < 21; i++) {
+                gui.addItem(BenchItems.item(Material.STONE, "&7Added " + i));
+            }
+        });
+        gui = new StaticGuiBuilder()
+                .holder(provider)
+                .title("<#ff5555>Render</#5555ff>")
+                .rows(6)
+                .mask(
+                        "#########",
+                        "#       #",
+                        "#       #",
+                        "#       #",
+                        "#       #",
+                        "#########")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public Inventory render() {
+        gui.render();
+        return gui.getInventory();
+    }
+
+}
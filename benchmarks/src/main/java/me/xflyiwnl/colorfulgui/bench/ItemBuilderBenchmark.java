@@ -0,0 +1,44 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.builder.item.StaticItemBuilder;
+import me.xflyiwnl.colorfulgui.object.StaticItem;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StaticItemBuilder#build()} for a typical menu entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBuilderBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchServer.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public StaticItem build() {
+        return new StaticItemBuilder()
+                .material(Material.DIAMOND)
+                .name("<#55ffff>Diamond</#ff55ff>")
+                .lore("&7Price: &a100", "&7Stock: &e12", "", "&eClick to buy")
+                .flags(ItemFlag.HIDE_ATTRIBUTES)
+                .model(7)
+                .action(event -> {})
+                .build();
+    }
+
+}
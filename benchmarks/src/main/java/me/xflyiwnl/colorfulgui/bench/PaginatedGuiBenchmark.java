@@ -0,0 +1,99 @@
+package me.xflyiwnl.colorfulgui.bench;
+
+import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.object.PaginatedGui;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code PaginatedGui.sortItems()} and page flips over catalogs of
+ * different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatedGuiBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int items;
+
+    private SortablePaginatedGui gui;
+    private boolean forward = true;
+
+    @Setup
+    public void setup() {
+        BenchServer.start();
+        BenchProvider<PaginatedGui> provider = new BenchProvider<>(BenchServer.player(), gui -> {
+            gui.addMask("#", BenchItems.item(Material.GRAY_STAINED_GLASS_PANE, " "));
+            for (int i = 0; i < items; i++) {
+                gui.addItem(BenchItems.item(Material.STONE, "&7Entry " + i));
+            }
+        });
+
+        GuiMask mask = new GuiMask();
+        mask.setMask(List.of(
+                "         ",
+                "         ",
+                "         ",
+                "         ",
+                "         ",
+                "#########"));
+
+        gui = new SortablePaginatedGui(provider, "Paged", 6, mask);
+        gui.setHolder(provider);
+        mask.setGui(gui);
+        provider.setGui(gui);
+        provider.init();
+        provider.show();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public int sortItems() {
+        gui.repaginate();
+        return gui.getMaxPage();
+    }
+
+    @Benchmark
+    public int flipPage() {
+        if (forward) {
+            gui.next();
+        } else {
+            gui.previous();
+        }
+        forward = !forward;
+        return gui.getCurrentPage();
+    }
+
+    /**
+     * Exposes the protected pagination pass to the benchmark.
+     */
+    static final class SortablePaginatedGui extends PaginatedGui {
+
+        SortablePaginatedGui(ColorfulProvider<?> holder, String title, int rows, GuiMask mask) {
+            super(holder, title, rows, mask);
+        }
+
+        void repaginate() {
+            getInventory().clear();
+            getAllowedZone().clear();
+            getPages().clear();
+            getPages().put(1, new LinkedHashMap<>());
+            sortItems();
+        }
+
+    }
+
+}
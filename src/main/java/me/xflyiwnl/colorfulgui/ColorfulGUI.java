@@ -1,10 +1,22 @@
 package me.xflyiwnl.colorfulgui;
 
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import me.xflyiwnl.colorfulgui.builder.inventory.DynamicGuiBuilder;
+import me.xflyiwnl.colorfulgui.builder.inventory.PaneGuiBuilder;
+import me.xflyiwnl.colorfulgui.builder.inventory.ScrollableGuiBuilder;
 import me.xflyiwnl.colorfulgui.builder.inventory.StaticGuiBuilder;
+import me.xflyiwnl.colorfulgui.builder.item.AnimatedItemBuilder;
 import me.xflyiwnl.colorfulgui.builder.item.DynamicItemBuilder;
 import me.xflyiwnl.colorfulgui.builder.item.StaticItemBuilder;
+import me.xflyiwnl.colorfulgui.command.ColorfulCommand;
+import me.xflyiwnl.colorfulgui.debug.HandlerWatchdog;
+import me.xflyiwnl.colorfulgui.definition.GuiDefinitions;
 import me.xflyiwnl.colorfulgui.listener.GuiListener;
+import me.xflyiwnl.colorfulgui.metrics.OpenMetricsExporter;
+import me.xflyiwnl.colorfulgui.session.SessionStore;
+import me.xflyiwnl.colorfulgui.task.AnimationTask;
+import me.xflyiwnl.colorfulgui.task.AsyncActionExecutor;
+import me.xflyiwnl.colorfulgui.task.GuiWarmup;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -23,10 +35,18 @@ public class ColorfulGUI extends JavaPlugin {
     public void onEnable() {
         instance = this;
         registerListeners();
+        registerCommands();
+        SessionStore.load();
+    }
+
+    @Override
+    public void onDisable() {
+        shutdown();
     }
 
     /**
      * Constructs a new ColorfulGUI instance and initializes the GUI system.
+     * The /colorfulgui command is not registered for the host plugin, call {@link #registerCommands()} to add it.
      * 
      * @param plugin The JavaPlugin instance that will host this GUI system
      */
@@ -34,6 +54,7 @@ public class ColorfulGUI extends JavaPlugin {
         if (instance == null) {
             instance = plugin;
             registerListeners();
+            SessionStore.load();
         }
     }
 
@@ -41,6 +62,29 @@ public class ColorfulGUI extends JavaPlugin {
         instance.getServer().getPluginManager().registerEvents(new GuiListener(), instance);
     }
 
+    /**
+     * Registers the /colorfulgui administration command on the hosting plugin.
+     * Done automatically when running standalone, plugins shading the library opt in by calling this from onEnable.
+     */
+    public void registerCommands() {
+        instance.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event ->
+                event.registrar().register("colorfulgui", "ColorfulGUI administration", new ColorfulCommand()));
+    }
+
+    /**
+     * Stops the background services of ColorfulGUI, such as metrics exporters.
+     * Plugins that use ColorfulGUI as a library should call this from their own onDisable.
+     */
+    public void shutdown() {
+        OpenMetricsExporter.stop();
+        HandlerWatchdog.setEnabled(false);
+        AsyncActionExecutor.shutdown();
+        AnimationTask.stop();
+        SessionStore.shutdown();
+        GuiDefinitions.stopWatching();
+        GuiWarmup.stop();
+    }
+
     /**
      * Creates a new StaticItemBuilder for building static items.
      * Static items don't change their properties during GUI updates.
@@ -61,6 +105,16 @@ public class ColorfulGUI extends JavaPlugin {
         return new DynamicItemBuilder();
     }
 
+    /**
+     * Creates a new AnimatedItemBuilder for building animated items.
+     * Animated items play precomputed frames, one slot write per frame change.
+     * 
+     * @return A new AnimatedItemBuilder instance
+     */
+    public AnimatedItemBuilder animatedItem() {
+        return new AnimatedItemBuilder();
+    }
+
     /**
      * Creates a new StaticGuiBuilder for building static GUIs.
      * Static GUIs have a fixed number of items and pages.
@@ -81,6 +135,26 @@ public class ColorfulGUI extends JavaPlugin {
         return new DynamicGuiBuilder();
     }
 
+    /**
+     * Creates a new ScrollableGuiBuilder for building scrollable GUIs.
+     * Scrollable GUIs move their content one row or column at a time.
+     * 
+     * @return A new ScrollableGuiBuilder instance for creating scrollable GUIs
+     */
+    public ScrollableGuiBuilder scrollable() {
+        return new ScrollableGuiBuilder();
+    }
+
+    /**
+     * Creates a new PaneGuiBuilder for building GUIs composed of panes.
+     * Every pane keeps its own state and only changed panes are written again.
+     * 
+     * @return A new PaneGuiBuilder instance for creating pane GUIs
+     */
+    public PaneGuiBuilder panes() {
+        return new PaneGuiBuilder();
+    }
+
     /**
      * Gets the JavaPlugin instance associated with this ColorfulGUI.
      * 
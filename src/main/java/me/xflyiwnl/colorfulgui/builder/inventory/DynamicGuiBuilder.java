@@ -2,7 +2,9 @@ package me.xflyiwnl.colorfulgui.builder.inventory;
 
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
 import me.xflyiwnl.colorfulgui.builder.GuiBuilder;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
 import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
 import me.xflyiwnl.colorfulgui.object.PaginatedGui;
 
 import java.util.Arrays;
@@ -13,6 +15,7 @@ public class DynamicGuiBuilder implements GuiBuilder<PaginatedGui, DynamicGuiBui
     private String title;
     private int rows;
     private GuiMask mask = new GuiMask();
+    private TextAnimation titleAnimation;
     private ColorfulProvider<PaginatedGui> holder;
 
     public DynamicGuiBuilder() {
@@ -48,12 +51,26 @@ public class DynamicGuiBuilder implements GuiBuilder<PaginatedGui, DynamicGuiBui
         return this;
     }
 
+    /**
+     * Animates the title with precomputed frames.
+     * The title given with {@link #title(String)} is used when the inventory is created.
+     *
+     * @param titleAnimation The title animation
+     * @return This builder instance for method chaining
+     */
+    public DynamicGuiBuilder titleAnimation(TextAnimation titleAnimation) {
+        this.titleAnimation = titleAnimation;
+        return this;
+    }
+
     @Override
     public PaginatedGui build() {
         PaginatedGui gui = new PaginatedGui(getHolder(), getTitle(), getRows(), getMask());
         gui.setHolder(holder);
+        gui.setTitleAnimation(titleAnimation);
         getMask().setGui(gui);
         getHolder().setGui(gui);
+        GuiRegistry.register(getHolder());
         getHolder().init();
         getHolder().show();
         return gui;
@@ -0,0 +1,114 @@
+package me.xflyiwnl.colorfulgui.builder.inventory;
+
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.builder.GuiBuilder;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.object.PaneGui;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PaneGuiBuilder implements GuiBuilder<PaneGui, PaneGuiBuilder> {
+
+    private String title;
+    private int rows;
+    private GuiMask mask = new GuiMask();
+    private TextAnimation titleAnimation;
+    private ColorfulProvider<PaneGui> holder;
+
+    public PaneGuiBuilder() {
+    }
+
+    @Override
+    public PaneGuiBuilder holder(ColorfulProvider<PaneGui> holder) {
+        this.holder = holder;
+        return this;
+    }
+
+    @Override
+    public PaneGuiBuilder title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    @Override
+    public PaneGuiBuilder rows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    @Override
+    public PaneGuiBuilder mask(List<String> mask) {
+        this.mask.setMask(mask);
+        return this;
+    }
+
+    @Override
+    public PaneGuiBuilder mask(String... mask) {
+        this.mask.setMask(Arrays.asList(mask));
+        return this;
+    }
+
+    /**
+     * Animates the title with precomputed frames.
+     * The title given with {@link #title(String)} is used when the inventory is created.
+     *
+     * @param titleAnimation The title animation
+     * @return This builder instance for method chaining
+     */
+    public PaneGuiBuilder titleAnimation(TextAnimation titleAnimation) {
+        this.titleAnimation = titleAnimation;
+        return this;
+    }
+
+    @Override
+    public PaneGui build() {
+        PaneGui gui = new PaneGui(getHolder(), getTitle(), getRows(), getMask());
+        gui.setHolder(holder);
+        gui.setTitleAnimation(titleAnimation);
+        getMask().setGui(gui);
+        getHolder().setGui(gui);
+        GuiRegistry.register(getHolder());
+        getHolder().init();
+        getHolder().show();
+        return gui;
+    }
+
+    /**
+     * Gets the current title set for the GUI.
+     *
+     * @return The GUI title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the current number of rows set for the GUI.
+     *
+     * @return The number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the current mask set for the GUI.
+     *
+     * @return The GuiMask instance
+     */
+    public GuiMask getMask() {
+        return mask;
+    }
+
+    /**
+     * Gets the current holder set for the GUI.
+     *
+     * @return The ColorfulProvider holder for PaneGui
+     */
+    public ColorfulProvider<PaneGui> getHolder() {
+        return holder;
+    }
+}
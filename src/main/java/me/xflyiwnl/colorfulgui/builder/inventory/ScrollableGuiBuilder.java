@@ -0,0 +1,135 @@
+package me.xflyiwnl.colorfulgui.builder.inventory;
+
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.builder.GuiBuilder;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.object.ScrollableGui;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ScrollableGuiBuilder implements GuiBuilder<ScrollableGui, ScrollableGuiBuilder> {
+
+    private String title;
+    private int rows;
+    private GuiMask mask = new GuiMask();
+    private TextAnimation titleAnimation;
+    private ScrollableGui.Orientation orientation = ScrollableGui.Orientation.VERTICAL;
+    private ColorfulProvider<ScrollableGui> holder;
+
+    public ScrollableGuiBuilder() {
+    }
+
+    @Override
+    public ScrollableGuiBuilder holder(ColorfulProvider<ScrollableGui> holder) {
+        this.holder = holder;
+        return this;
+    }
+
+    @Override
+    public ScrollableGuiBuilder title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    @Override
+    public ScrollableGuiBuilder rows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    @Override
+    public ScrollableGuiBuilder mask(List<String> mask) {
+        this.mask.setMask(mask);
+        return this;
+    }
+
+    @Override
+    public ScrollableGuiBuilder mask(String... mask) {
+        this.mask.setMask(Arrays.asList(mask));
+        return this;
+    }
+
+    /**
+     * Animates the title with precomputed frames.
+     * The title given with {@link #title(String)} is used when the inventory is created.
+     *
+     * @param titleAnimation The title animation
+     * @return This builder instance for method chaining
+     */
+    public ScrollableGuiBuilder titleAnimation(TextAnimation titleAnimation) {
+        this.titleAnimation = titleAnimation;
+        return this;
+    }
+
+    /**
+     * Sets the direction the content scrolls in, vertical by default.
+     *
+     * @param orientation The scroll direction
+     * @return This builder instance for method chaining
+     */
+    public ScrollableGuiBuilder orientation(ScrollableGui.Orientation orientation) {
+        this.orientation = orientation;
+        return this;
+    }
+
+    @Override
+    public ScrollableGui build() {
+        ScrollableGui gui = new ScrollableGui(getHolder(), getTitle(), getRows(), getMask(), getOrientation());
+        gui.setHolder(holder);
+        gui.setTitleAnimation(titleAnimation);
+        getMask().setGui(gui);
+        getHolder().setGui(gui);
+        GuiRegistry.register(getHolder());
+        getHolder().init();
+        getHolder().show();
+        return gui;
+    }
+
+    /**
+     * Gets the current title set for the GUI.
+     *
+     * @return The GUI title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the current number of rows set for the GUI.
+     *
+     * @return The number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the current scroll direction set for the GUI.
+     *
+     * @return The scroll direction
+     */
+    public ScrollableGui.Orientation getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Gets the current mask set for the GUI.
+     *
+     * @return The GuiMask instance
+     */
+    public GuiMask getMask() {
+        return mask;
+    }
+
+    /**
+     * Gets the current holder set for the GUI.
+     *
+     * @return The ColorfulProvider holder for ScrollableGui
+     */
+    public ColorfulProvider<ScrollableGui> getHolder() {
+        return holder;
+    }
+}
@@ -2,8 +2,10 @@ package me.xflyiwnl.colorfulgui.builder.inventory;
 
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
 import me.xflyiwnl.colorfulgui.builder.GuiBuilder;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
 import me.xflyiwnl.colorfulgui.object.Gui;
 import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
 
 import java.util.Arrays;
 import java.util.List;
@@ -13,6 +15,7 @@ public class StaticGuiBuilder implements GuiBuilder<Gui, StaticGuiBuilder> {
     private String title;
     private int rows;
     private GuiMask mask = new GuiMask();
+    private TextAnimation titleAnimation;
     private ColorfulProvider<Gui> holder;
 
     public StaticGuiBuilder() {
@@ -48,12 +51,26 @@ public class StaticGuiBuilder implements GuiBuilder<Gui, StaticGuiBuilder> {
         return this;
     }
 
+    /**
+     * Animates the title with precomputed frames.
+     * The title given with {@link #title(String)} is used when the inventory is created.
+     *
+     * @param titleAnimation The title animation
+     * @return This builder instance for method chaining
+     */
+    public StaticGuiBuilder titleAnimation(TextAnimation titleAnimation) {
+        this.titleAnimation = titleAnimation;
+        return this;
+    }
+
     @Override
     public Gui build() {
         Gui gui = new Gui(getHolder(), getTitle(), getRows(), getMask());
         gui.setHolder(holder);
+        gui.setTitleAnimation(titleAnimation);
         getMask().setGui(gui);
         getHolder().setGui(gui);
+        GuiRegistry.register(getHolder());
         getHolder().init();
         getHolder().show();
         return gui;
@@ -0,0 +1,252 @@
+package me.xflyiwnl.colorfulgui.builder.item;
+
+import me.xflyiwnl.colorfulgui.builder.ItemBuilder;
+import me.xflyiwnl.colorfulgui.object.AnimatedItem;
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickAsyncAction;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickStaticAction;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Builder class for creating AnimatedItem instances with a fluent API.
+ * Frames are given as finished items, for example built once with a
+ * {@link StaticItemBuilder}, or produced by a generator. They are all computed
+ * when the item is built, playback only switches between them.
+ */
+public class AnimatedItemBuilder implements ItemBuilder<AnimatedItem> {
+
+    private final List<ItemStack> frames = new ArrayList<>();
+    private final List<Integer> durations = new ArrayList<>();
+
+    private boolean loop = true;
+    private boolean synced = false;
+    private long offset = 0;
+
+    private ClickStaticAction action;
+    private ClickAsyncAction asyncAction;
+    private long cooldown = 0;
+    private long debounce = 0;
+    private List<String> tags;
+
+    /**
+     * Creates a new AnimatedItemBuilder with no frames.
+     */
+    public AnimatedItemBuilder() {
+    }
+
+    /**
+     * Adds a frame.
+     *
+     * @param itemStack The frame
+     * @param ticks How long the frame is shown, in ticks
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder frame(ItemStack itemStack, int ticks) {
+        frames.add(itemStack);
+        durations.add(ticks);
+        return this;
+    }
+
+    /**
+     * Adds a frame from a built item.
+     *
+     * @param item The item whose stack is the frame
+     * @param ticks How long the frame is shown, in ticks
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder frame(GuiItem item, int ticks) {
+        return frame(item.getItemStack(), ticks);
+    }
+
+    /**
+     * Adds frames that are all shown for the same time.
+     *
+     * @param itemStacks The frames
+     * @param ticks How long every frame is shown, in ticks
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder frames(List<ItemStack> itemStacks, int ticks) {
+        for (ItemStack itemStack : itemStacks) {
+            frame(itemStack, ticks);
+        }
+        return this;
+    }
+
+    /**
+     * Adds frames produced by a generator.
+     * The generator is called once per frame while the builder runs, never during playback.
+     *
+     * @param count The number of frames
+     * @param generator Produces the frame for an index
+     * @param ticks How long every frame is shown, in ticks
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder generate(int count, IntFunction<ItemStack> generator, int ticks) {
+        for (int i = 0; i < count; i++) {
+            frame(generator.apply(i), ticks);
+        }
+        return this;
+    }
+
+    /**
+     * Adds frames that animate the name and lore of an item.
+     * One frame is built per frame of the longest animation, shorter ones wrap around.
+     * Every frame is shown for the interval of the name animation.
+     *
+     * @param base The item the frames are copied from
+     * @param name The name animation, or null to keep the name
+     * @param lore The animations of the lore lines
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder animateText(ItemStack base, TextAnimation name, TextAnimation... lore) {
+        int count = name != null ? name.getFrameCount() : 1;
+        for (TextAnimation line : lore) {
+            count = Math.max(count, line.getFrameCount());
+        }
+        int ticks = name != null ? name.getInterval() : lore.length > 0 ? lore[0].getInterval() : 1;
+
+        for (int i = 0; i < count; i++) {
+            ItemStack frame = base.clone();
+            ItemMeta meta = frame.getItemMeta();
+            if (meta != null) {
+                if (name != null) {
+                    meta.setDisplayName(name.getFrame(i % name.getFrameCount()));
+                }
+                if (lore.length > 0) {
+                    List<String> lines = new ArrayList<>(lore.length);
+                    for (TextAnimation line : lore) {
+                        lines.add(line.getFrame(i % line.getFrameCount()));
+                    }
+                    meta.setLore(lines);
+                }
+                frame.setItemMeta(meta);
+            }
+            frame(frame, ticks);
+        }
+        return this;
+    }
+
+    /**
+     * Sets if the animation restarts after the last frame.
+     * A one-shot animation stays on its last frame. Loops by default.
+     *
+     * @param loop True to loop
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder loop(boolean loop) {
+        this.loop = loop;
+        return this;
+    }
+
+    /**
+     * Sets if the animation follows the global clock.
+     * Synced animations show the same frame to every viewer and may be shared between GUIs;
+     * unsynced animations start when their GUI is first opened.
+     *
+     * @param synced True to follow the global clock
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder sync(boolean synced) {
+        this.synced = synced;
+        return this;
+    }
+
+    /**
+     * Shifts the animation, for example to run a wave across a row of items.
+     *
+     * @param ticks The phase offset in ticks
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder offset(long ticks) {
+        this.offset = ticks;
+        return this;
+    }
+
+    /**
+     * Sets the click action for the item.
+     *
+     * @param action The action to execute when the item is clicked
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder action(ClickStaticAction action) {
+        this.action = action;
+        return this;
+    }
+
+    /**
+     * Sets the async click action for the item.
+     *
+     * @param asyncAction The action to execute off the main thread when the item is clicked
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder asyncAction(ClickAsyncAction asyncAction) {
+        this.asyncAction = asyncAction;
+        return this;
+    }
+
+    /**
+     * Sets the cooldown of the item.
+     *
+     * @param millis The cooldown in milliseconds
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder cooldown(long millis) {
+        this.cooldown = millis;
+        return this;
+    }
+
+    /**
+     * Sets the debounce of the item.
+     *
+     * @param millis The debounce in milliseconds
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder debounce(long millis) {
+        this.debounce = millis;
+        return this;
+    }
+
+    /**
+     * Sets the category tags of the item, used to filter paginated GUIs.
+     *
+     * @param tags The tags
+     * @return This builder instance for method chaining
+     */
+    public AnimatedItemBuilder tags(String... tags) {
+        this.tags = Arrays.asList(tags);
+        return this;
+    }
+
+    /**
+     * Builds and returns the configured AnimatedItem.
+     *
+     * @return The built AnimatedItem instance
+     */
+    @Override
+    public AnimatedItem build() {
+        if (frames.isEmpty()) {
+            throw new IllegalStateException("An animated item needs at least one frame");
+        }
+
+        int[] ticks = new int[durations.size()];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = durations.get(i);
+        }
+
+        AnimatedItem item = new AnimatedItem(UUID.randomUUID(), frames, ticks, loop, synced, offset, action);
+        item.setAsyncAction(asyncAction);
+        item.setCooldown(cooldown);
+        item.setDebounce(debounce);
+        if (tags != null) item.setTags(tags);
+        return item;
+    }
+
+}
@@ -3,6 +3,7 @@ package me.xflyiwnl.colorfulgui.builder.item;
 import io.papermc.paper.datacomponent.DataComponentTypes;
 import io.papermc.paper.datacomponent.item.TooltipDisplay;
 import me.xflyiwnl.colorfulgui.object.StaticItem;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickAsyncAction;
 import me.xflyiwnl.colorfulgui.object.action.click.ClickDynamicAction;
 import me.xflyiwnl.colorfulgui.ColorfulGUI;
 import me.xflyiwnl.colorfulgui.builder.ItemBuilder;
@@ -11,6 +12,7 @@ import me.xflyiwnl.colorfulgui.object.action.MetaChange;
 import me.xflyiwnl.colorfulgui.object.action.UpdateItem;
 import me.xflyiwnl.colorfulgui.object.event.UpdateItemEvent;
 import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import me.xflyiwnl.colorfulgui.util.SkullCache;
 import org.bukkit.*;
 import org.bukkit.block.banner.Pattern;
 import org.bukkit.enchantments.Enchantment;
@@ -24,10 +26,7 @@ import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionData;
 import org.bukkit.profile.PlayerProfile;
-import org.bukkit.profile.PlayerTextures;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -64,6 +63,10 @@ public class DynamicItemBuilder implements ItemBuilder<DynamicItem> {
 
     private Map<Enchantment, Integer> enchantments = new HashMap<Enchantment, Integer>();
     private ClickDynamicAction action;
+    private ClickAsyncAction asyncAction;
+    private long cooldown = 0;
+    private long debounce = 0;
+    private List<String> tags;
     private UpdateItem<UpdateItemEvent<DynamicItem>> onUpdate;
 
     private PotionData potionData;
@@ -291,6 +294,55 @@ public class DynamicItemBuilder implements ItemBuilder<DynamicItem> {
         return this;
     }
 
+    /**
+     * Sets the async click action for the item.
+     * The action runs on a virtual thread and returns a continuation that is applied on the main thread.
+     * The item ignores clicks while the action is in flight.
+     *
+     * @param asyncAction The action to execute off the main thread when the item is clicked
+     * @return This builder instance for method chaining
+     */
+    public DynamicItemBuilder asyncAction(ClickAsyncAction asyncAction) {
+        this.asyncAction = asyncAction;
+        return this;
+    }
+
+    /**
+     * Sets the cooldown of the item.
+     * After the action ran, further clicks of the same player are ignored until the cooldown has passed.
+     *
+     * @param millis The cooldown in milliseconds
+     * @return This builder instance for method chaining
+     */
+    public DynamicItemBuilder cooldown(long millis) {
+        this.cooldown = millis;
+        return this;
+    }
+
+    /**
+     * Sets the debounce of the item.
+     * A click is ignored if the same player clicked the item less than the debounce ago,
+     * so a burst of clicks runs the action once.
+     *
+     * @param millis The debounce in milliseconds
+     * @return This builder instance for method chaining
+     */
+    public DynamicItemBuilder debounce(long millis) {
+        this.debounce = millis;
+        return this;
+    }
+
+    /**
+     * Sets the category tags of the item, used to filter paginated GUIs.
+     *
+     * @param tags The tags
+     * @return This builder instance for method chaining
+     */
+    public DynamicItemBuilder tags(String... tags) {
+        this.tags = Arrays.asList(tags);
+        return this;
+    }
+
     /**
      * Configures the item as a player skull with the specified player.
      *
@@ -307,28 +359,14 @@ public class DynamicItemBuilder implements ItemBuilder<DynamicItem> {
 
     /**
      * Configures the item as a custom skull with the specified texture URL.
+     * Heads for the same URL share one interned profile, see {@link SkullCache}.
      *
      * @param url The texture URL for the skull
      * @return This builder instance for method chaining
      */
     public DynamicItemBuilder skull(String url) {
-        UUID uuid = UUID.randomUUID();
-        PlayerProfile profile = Bukkit.createPlayerProfile(uuid);
-
-        PlayerTextures textures = profile.getTextures();
-        try {
-            textures.setSkin(new URL(url));
-        } catch (MalformedURLException e) {
-            e.printStackTrace();
-            return this;
-        }
-        profile.setTextures(textures);
-
-        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta skullMeta = (SkullMeta) head.getItemMeta();
-        if (skullMeta != null) {
-            skullMeta.setOwnerProfile(profile);
-            head.setItemMeta(skullMeta);
+        ItemStack head = SkullCache.head(url);
+        if (head != null) {
             from(head);
         }
         return this;
@@ -638,9 +676,22 @@ public class DynamicItemBuilder implements ItemBuilder<DynamicItem> {
                 guiItem.setAction(action);
             if (onUpdate != null)
                 guiItem.setOnUpdate(onUpdate);
+            if (asyncAction != null)
+                guiItem.setAsyncAction(asyncAction);
+            if (cooldown > 0)
+                guiItem.setCooldown(cooldown);
+            if (debounce > 0)
+                guiItem.setDebounce(debounce);
+            if (tags != null)
+                guiItem.setTags(tags);
             return guiItem;
         } else {
-            return new DynamicItem(uuid, itemStack, action, onUpdate);
+            DynamicItem item = new DynamicItem(uuid, itemStack, action, onUpdate);
+            item.setAsyncAction(asyncAction);
+            item.setCooldown(cooldown);
+            item.setDebounce(debounce);
+            if (tags != null) item.setTags(tags);
+            return item;
         }
 
     }
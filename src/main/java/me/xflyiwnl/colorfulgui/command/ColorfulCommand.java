@@ -0,0 +1,420 @@
+package me.xflyiwnl.colorfulgui.command;
+
+import io.papermc.paper.command.brigadier.BasicCommand;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.debug.GuiFootprint;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.debug.HandlerWatchdog;
+import me.xflyiwnl.colorfulgui.debug.HeatmapOverlay;
+import me.xflyiwnl.colorfulgui.debug.SlotHeatmap;
+import me.xflyiwnl.colorfulgui.definition.GuiDefinitions;
+import me.xflyiwnl.colorfulgui.listener.GuiInventories;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import me.xflyiwnl.colorfulgui.metrics.Histogram;
+import me.xflyiwnl.colorfulgui.metrics.ProviderMetrics;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.task.GuiWarmup;
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Administration command of ColorfulGUI, registered as {@code /colorfulgui}.
+ */
+public class ColorfulCommand implements BasicCommand {
+
+    private static final int DEFAULT_TOP = 5;
+
+    @Override
+    public void execute(CommandSourceStack source, String[] args) {
+        CommandSender sender = source.getSender();
+        if (args.length == 0) {
+            usage(sender);
+            return;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "stats" -> stats(sender, args);
+            case "metrics" -> metrics(sender, args);
+            case "heatmap" -> heatmap(sender, args);
+            case "slow" -> slow(sender, args);
+            case "guis" -> guis(sender, args);
+            case "defs" -> defs(sender, args);
+            case "warmup" -> warmup(sender);
+            default -> usage(sender);
+        }
+    }
+
+    @Override
+    public Collection<String> suggest(CommandSourceStack source, String[] args) {
+        if (args.length <= 1) {
+            return filter(List.of("stats", "metrics", "heatmap", "slow", "guis", "defs", "warmup"), args.length == 0 ? "" : args[0]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("metrics")) {
+            return filter(List.of("on", "off", "reset"), args[1]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("heatmap")) {
+            return filter(List.of("on", "off", "show", "dump", "reset"), args[1]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("slow")) {
+            return filter(List.of("list", "on", "off", "reset", "threshold"), args[1]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("guis")) {
+            return filter(List.of("list", "leaks"), args[1]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("defs")) {
+            return filter(List.of("list", "errors", "open"), args[1]);
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("defs") && args[1].equalsIgnoreCase("open")) {
+            return filter(new ArrayList<>(GuiDefinitions.getDefinitions().keySet()), args[2]);
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("heatmap")) {
+            List<String> names = new ArrayList<>();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (player.getName().toLowerCase(Locale.ROOT).startsWith(args[2].toLowerCase(Locale.ROOT))) {
+                    names.add(player.getName());
+                }
+            }
+            return names;
+        }
+        return List.of();
+    }
+
+    @Override
+    public String permission() {
+        return "colorfulgui.admin";
+    }
+
+    /**
+     * Prints the runtime metrics and the slowest providers.
+     * Usage: {@code /colorfulgui stats [top]}
+     */
+    private void stats(CommandSender sender, String[] args) {
+        int top = DEFAULT_TOP;
+        if (args.length > 1) {
+            try {
+                top = Math.max(1, Integer.parseInt(args[1]));
+            } catch (NumberFormatException e) {
+                send(sender, "&cNot a number: " + args[1]);
+                return;
+            }
+        }
+
+        send(sender, "&6ColorfulGUI stats &7(metrics " + (GuiMetrics.isEnabled() ? "&aon" : "&coff") + "&7)");
+        send(sender, "&7Live GUIs: &f" + GuiMetrics.getLiveGuis()
+                + " &7(opened &f" + GuiMetrics.getOpens() + "&7, closed &f" + GuiMetrics.getCloses() + "&7)");
+        send(sender, "&7Render: " + latency(GuiMetrics.getRender())
+                + " &7slots avg &f" + String.format(Locale.ROOT, "%.1f", GuiMetrics.getRenderSlots().getMean()));
+        send(sender, "&7Click: " + latency(GuiMetrics.getClick()));
+        send(sender, "&7Throttled clicks: &f" + GuiMetrics.getRateLimited()
+                + " &7rate limited, &f" + GuiMetrics.getSuppressed() + " &7cooldown/debounce");
+
+        List<ProviderMetrics> slowest = GuiMetrics.getSlowestProviders(top);
+        if (slowest.isEmpty()) {
+            return;
+        }
+        send(sender, "&6Slowest providers &7(update handlers)");
+        int rank = 1;
+        for (ProviderMetrics provider : slowest) {
+            Histogram update = provider.getUpdate();
+            send(sender, "&7" + rank++ + ". &f" + provider.getName()
+                    + " &7total &f" + formatNanos(update.getSum()) + " " + latency(update));
+        }
+    }
+
+    /**
+     * Toggles or resets metrics.
+     * Usage: {@code /colorfulgui metrics <on|off|reset>}
+     */
+    private void metrics(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            send(sender, "&7Usage: /colorfulgui metrics <on|off|reset>");
+            return;
+        }
+        switch (args[1].toLowerCase(Locale.ROOT)) {
+            case "on" -> {
+                GuiMetrics.setEnabled(true);
+                send(sender, "&aMetrics enabled.");
+            }
+            case "off" -> {
+                GuiMetrics.setEnabled(false);
+                send(sender, "&cMetrics disabled.");
+            }
+            case "reset" -> {
+                GuiMetrics.reset();
+                send(sender, "&7Metrics reset.");
+            }
+            default -> send(sender, "&7Usage: /colorfulgui metrics <on|off|reset>");
+        }
+    }
+
+    /**
+     * Controls the slot write heatmap debug mode.
+     * Usage: {@code /colorfulgui heatmap <on|off|show|dump|reset> [player]}
+     */
+    private void heatmap(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            send(sender, "&7Usage: /colorfulgui heatmap <on|off|show|dump|reset> [player]");
+            return;
+        }
+        String action = args[1].toLowerCase(Locale.ROOT);
+        if (action.equals("on") || action.equals("off")) {
+            SlotHeatmap.setEnabled(action.equals("on"));
+            send(sender, SlotHeatmap.isEnabled() ? "&aHeatmap recording enabled." : "&cHeatmap recording disabled.");
+            return;
+        }
+
+        ColorfulProvider<?> provider = openProvider(sender, args.length > 2 ? args[2] : null);
+        if (provider == null) {
+            return;
+        }
+        Gui gui = provider.getGui();
+        SlotHeatmap heatmap = gui.getHeatmap();
+        if (heatmap == null) {
+            send(sender, "&cNo slot writes recorded for this GUI" + (SlotHeatmap.isEnabled() ? "." : ", enable the heatmap first."));
+            return;
+        }
+
+        switch (action) {
+            case "show" -> {
+                if (!(sender instanceof Player player)) {
+                    send(sender, "&cOnly players can open the overlay, use dump instead.");
+                    return;
+                }
+                player.openInventory(new HeatmapOverlay(gui, heatmap).getInventory());
+            }
+            case "dump" -> {
+                Path file = ColorfulGUI.getInstance().getDataFolder().toPath()
+                        .resolve("heatmaps")
+                        .resolve(provider.getClass().getSimpleName() + "-" + System.currentTimeMillis() + ".csv");
+                try {
+                    heatmap.dump(file);
+                    send(sender, "&7Heatmap written to &f" + file);
+                } catch (IOException e) {
+                    send(sender, "&cCould not write " + file + ": " + e.getMessage());
+                }
+            }
+            case "reset" -> {
+                heatmap.reset();
+                send(sender, "&7Heatmap reset.");
+            }
+            default -> send(sender, "&7Usage: /colorfulgui heatmap <on|off|show|dump|reset> [player]");
+        }
+    }
+
+    /**
+     * Controls the slow handler watchdog and lists the slowest handlers.
+     * Usage: {@code /colorfulgui slow [list|on|off|reset|threshold <ms>]}
+     */
+    private void slow(CommandSender sender, String[] args) {
+        String action = args.length > 1 ? args[1].toLowerCase(Locale.ROOT) : "list";
+        switch (action) {
+            case "on" -> {
+                HandlerWatchdog.setEnabled(true);
+                send(sender, "&aWatchdog enabled, threshold &f" + HandlerWatchdog.getThreshold() + "ms&a.");
+            }
+            case "off" -> {
+                HandlerWatchdog.setEnabled(false);
+                send(sender, "&cWatchdog disabled.");
+            }
+            case "reset" -> {
+                HandlerWatchdog.reset();
+                send(sender, "&7Slow handlers reset.");
+            }
+            case "threshold" -> {
+                if (args.length < 3) {
+                    send(sender, "&7Threshold: &f" + HandlerWatchdog.getThreshold() + "ms");
+                    return;
+                }
+                try {
+                    HandlerWatchdog.setThreshold(Long.parseLong(args[2]));
+                    send(sender, "&7Threshold set to &f" + HandlerWatchdog.getThreshold() + "ms");
+                } catch (NumberFormatException e) {
+                    send(sender, "&cNot a number: " + args[2]);
+                }
+            }
+            case "list" -> {
+                send(sender, "&6Slow handlers &7(watchdog " + (HandlerWatchdog.isEnabled() ? "&aon" : "&coff")
+                        + "&7, threshold &f" + HandlerWatchdog.getThreshold() + "ms&7)");
+                List<HandlerWatchdog.Offender> offenders = HandlerWatchdog.getOffenders(DEFAULT_TOP);
+                if (offenders.isEmpty()) {
+                    send(sender, "&7None recorded.");
+                    return;
+                }
+                int rank = 1;
+                for (HandlerWatchdog.Offender offender : offenders) {
+                    send(sender, "&7" + rank++ + ". &f" + offender.getHandler()
+                            + " &7(" + offender.getKind().name().toLowerCase(Locale.ROOT) + " in &f" + offender.getProvider() + "&7)"
+                            + " n=&f" + offender.getCount()
+                            + " &7max=&f" + formatNanos(offender.getMaxNanos())
+                            + " &7total=&f" + formatNanos(offender.getTotalNanos())
+                            + " &7last slot &f" + offender.getLastSlot());
+                }
+            }
+            default -> send(sender, "&7Usage: /colorfulgui slow [list|on|off|reset|threshold <ms>]");
+        }
+    }
+
+    /**
+     * Lists the live providers with their footprint, or the suspected leaks.
+     * Usage: {@code /colorfulgui guis [list|leaks]}
+     */
+    private void guis(CommandSender sender, String[] args) {
+        boolean leaks = args.length > 1 && args[1].equalsIgnoreCase("leaks");
+        List<GuiRegistry.Snapshot> snapshots = leaks ? GuiRegistry.getSuspects() : GuiRegistry.getLive();
+
+        GuiFootprint totals = new GuiFootprint();
+        for (GuiRegistry.Snapshot snapshot : snapshots) {
+            totals.add(snapshot.getFootprint());
+        }
+        send(sender, "&6" + (leaks ? "Leak suspects" : "Live GUIs") + " &7(" + snapshots.size() + ") " + footprint(totals));
+        if (leaks) {
+            send(sender, "&7Closed and still reachable after &f" + formatNanos(GuiRegistry.getLeakAfter() * 1_000_000) + "&7.");
+        }
+
+        long now = System.currentTimeMillis();
+        int shown = 0;
+        for (GuiRegistry.Snapshot snapshot : snapshots) {
+            if (shown++ == DEFAULT_TOP * 2) {
+                send(sender, "&7... " + (snapshots.size() - DEFAULT_TOP * 2) + " more");
+                break;
+            }
+            String state = snapshot.isOpen()
+                    ? "&aopen"
+                    : "&cclosed " + formatNanos((now - snapshot.getLastClose()) * 1_000_000) + " ago";
+            send(sender, "&f" + snapshot.getName() + " &7(" + (snapshot.getPlayer() != null ? snapshot.getPlayer() : "no player")
+                    + ", " + state + "&7) " + footprint(snapshot.getFootprint()));
+        }
+    }
+
+    /**
+     * Lists the loaded GUI definitions, the files that failed to compile, or opens a definition.
+     * Usage: {@code /colorfulgui defs [list|errors|open <id>]}
+     */
+    private void defs(CommandSender sender, String[] args) {
+        String action = args.length > 1 ? args[1].toLowerCase(Locale.ROOT) : "list";
+        switch (action) {
+            case "list" -> {
+                send(sender, "&6GUI definitions &7(" + GuiDefinitions.getDefinitions().size() + " loaded, "
+                        + GuiDefinitions.getErrors().size() + " failed)");
+                GuiDefinitions.getDefinitions().forEach((id, definition) ->
+                        send(sender, "&f" + id + " &7" + definition.getType().name().toLowerCase(Locale.ROOT)
+                                + ", " + definition.getRows() + " rows, " + (definition.getItems().size() + definition.getContent().size()) + " items"));
+            }
+            case "errors" -> {
+                if (GuiDefinitions.getErrors().isEmpty()) {
+                    send(sender, "&aAll GUI definitions compiled.");
+                }
+                GuiDefinitions.getErrors().forEach((id, error) -> send(sender, "&c" + id + "&7: " + error));
+            }
+            case "open" -> {
+                if (!(sender instanceof Player player) || args.length < 3) {
+                    send(sender, "&7Usage: /colorfulgui defs open <id> (as a player)");
+                    return;
+                }
+                if (GuiDefinitions.open(player, args[2]) == null) {
+                    send(sender, "&cNo GUI definition " + args[2] + ".");
+                }
+            }
+            default -> send(sender, "&7Usage: /colorfulgui defs [list|errors|open <id>]");
+        }
+    }
+
+    private void warmup(CommandSender sender) {
+        send(sender, "&6GUI warm-up &7" + (GuiWarmup.isRunning() ? "running" : "idle") + ": &f"
+                + GuiWarmup.getCompleted() + "/" + GuiWarmup.getTotal() + " &7steps"
+                + (GuiWarmup.getFailed() > 0 ? ", &c" + GuiWarmup.getFailed() + " failed" : ""));
+    }
+
+    private static String footprint(GuiFootprint footprint) {
+        return "&7items &f" + footprint.getItems()
+                + " &7stacks &f" + footprint.getItemStacks()
+                + " &7pages &f" + footprint.getPages()
+                + " &7frames &f" + footprint.getFrames()
+                + " &7~&f" + footprint.getEstimatedBytes() / 1024 + "KiB";
+    }
+
+    /**
+     * Finds the provider of the GUI a player has open.
+     *
+     * @param sender The command sender, used when no player name is given
+     * @param name   The name of the player, or null for the sender
+     * @return The provider, or null if the player has no ColorfulGUI open
+     */
+    private ColorfulProvider<?> openProvider(CommandSender sender, String name) {
+        Player target;
+        if (name != null) {
+            target = Bukkit.getPlayerExact(name);
+        } else {
+            target = sender instanceof Player player ? player : null;
+        }
+        if (target == null) {
+            send(sender, "&cPlayer not found.");
+            return null;
+        }
+
+        InventoryHolder holder = GuiInventories.getHolder(target.getOpenInventory().getTopInventory());
+        if (!(holder instanceof ColorfulProvider<?> provider)) {
+            send(sender, "&c" + target.getName() + " has no ColorfulGUI open.");
+            return null;
+        }
+        return provider;
+    }
+
+    private void usage(CommandSender sender) {
+        send(sender, "&6ColorfulGUI &7commands:");
+        send(sender, "&7/colorfulgui stats [top] &8- &fruntime metrics and slowest providers");
+        send(sender, "&7/colorfulgui metrics <on|off|reset> &8- &ftoggle metrics");
+        send(sender, "&7/colorfulgui heatmap <on|off|show|dump|reset> [player] &8- &fslot write heatmap");
+        send(sender, "&7/colorfulgui slow [list|on|off|reset|threshold <ms>] &8- &fslow handler watchdog");
+        send(sender, "&7/colorfulgui guis [list|leaks] &8- &flive GUIs and leak suspects");
+        send(sender, "&7/colorfulgui defs [list|errors|open <id>] &8- &fGUI definitions");
+        send(sender, "&7/colorfulgui warmup &8- &fwarm-up progress");
+    }
+
+    private static String latency(Histogram histogram) {
+        return "&7n=&f" + histogram.getCount()
+                + " &7p50=&f" + formatNanos(histogram.getQuantile(0.5))
+                + " &7p99=&f" + formatNanos(histogram.getQuantile(0.99))
+                + " &7max=&f" + formatNanos(histogram.getMax());
+    }
+
+    /**
+     * Formats a duration in nanoseconds in the most readable unit.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The formatted duration
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static void send(CommandSender sender, String message) {
+        sender.sendMessage(ColorUtils.colorize(message));
+    }
+
+    private static List<String> filter(List<String> options, String prefix) {
+        List<String> result = new ArrayList<>();
+        for (String option : options) {
+            if (option.startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                result.add(option);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,129 @@
+package me.xflyiwnl.colorfulgui.debug;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Estimated memory footprint of one or more GUIs.
+ * The byte estimate uses rough per-object sizes and is meant for comparing
+ * GUIs with each other, not as an exact retained heap size.
+ */
+public class GuiFootprint {
+
+    // rough shallow sizes of the objects a GUI retains
+    private static final long GUI_ITEM_BYTES = 64;
+    private static final long ITEM_STACK_BYTES = 256;
+    private static final long PAGE_BYTES = 96;
+    private static final long SLOT_BYTES = 48;
+
+    private int guis;
+    private long items;
+    private long itemStacks;
+    private long pages;
+    private long frames;
+    private long slots;
+
+    /**
+     * Counts a GUI.
+     **/
+    public void addGui() {
+        guis++;
+    }
+
+    /**
+     * Counts {@link me.xflyiwnl.colorfulgui.object.GuiItem}s.
+     *
+     * @param count The number of items
+     **/
+    public void addItems(long count) {
+        items += count;
+    }
+
+    /**
+     * Counts an {@link ItemStack}, ignoring null and empty stacks.
+     *
+     * @param itemStack The stack
+     **/
+    public void addItemStack(ItemStack itemStack) {
+        if (itemStack != null && !itemStack.isEmpty()) {
+            itemStacks++;
+        }
+    }
+
+    /**
+     * Counts pages.
+     *
+     * @param count The number of pages
+     **/
+    public void addPages(long count) {
+        pages += count;
+    }
+
+    /**
+     * Counts precomputed frames, such as animation frames.
+     *
+     * @param count The number of frames
+     **/
+    public void addFrames(long count) {
+        frames += count;
+    }
+
+    /**
+     * Counts inventory slots.
+     *
+     * @param count The number of slots
+     **/
+    public void addSlots(long count) {
+        slots += count;
+    }
+
+    /**
+     * Adds another footprint to this one.
+     *
+     * @param other The footprint to add
+     **/
+    public void add(GuiFootprint other) {
+        guis += other.guis;
+        items += other.items;
+        itemStacks += other.itemStacks;
+        pages += other.pages;
+        frames += other.frames;
+        slots += other.slots;
+    }
+
+    /**
+     * Estimates the retained size.
+     *
+     * @return The estimated size in bytes
+     **/
+    public long getEstimatedBytes() {
+        return items * GUI_ITEM_BYTES
+                + (itemStacks + frames) * ITEM_STACK_BYTES
+                + pages * PAGE_BYTES
+                + slots * SLOT_BYTES;
+    }
+
+    public int getGuis() {
+        return guis;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public long getItemStacks() {
+        return itemStacks;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getSlots() {
+        return slots;
+    }
+
+}
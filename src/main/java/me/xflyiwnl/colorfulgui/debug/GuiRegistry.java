@@ -0,0 +1,232 @@
+package me.xflyiwnl.colorfulgui.debug;
+
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weak registry of every built {@link ColorfulProvider}.
+ * Providers are registered when their GUI is built and drop out once they are
+ * garbage collected, so anything still listed is reachable from somewhere.
+ * A provider that stays reachable long after its last close is reported as a
+ * leak suspect: usually its {@link org.bukkit.inventory.Inventory} or the
+ * provider itself is kept in a field, map or task of another plugin.
+ */
+public class GuiRegistry {
+
+    // provider -> registration data, weak keys so the registry never retains a provider
+    private static final Map<ColorfulProvider<?>, Entry> providers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile long leakAfterMillis = TimeUnit.MINUTES.toMillis(5);
+
+    private GuiRegistry() {
+    }
+
+    /**
+     * Registers a built provider.
+     *
+     * @param provider The provider
+     **/
+    public static void register(ColorfulProvider<?> provider) {
+        if (provider == null) return;
+        providers.putIfAbsent(provider, new Entry(provider.getClass().getName()));
+    }
+
+    /**
+     * Marks a provider as opened.
+     *
+     * @param provider The provider
+     **/
+    public static void opened(ColorfulProvider<?> provider) {
+        Entry entry = providers.get(provider);
+        if (entry != null) {
+            entry.lastOpen = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Marks a provider as closed.
+     *
+     * @param provider The provider
+     **/
+    public static void closed(ColorfulProvider<?> provider) {
+        Entry entry = providers.get(provider);
+        if (entry != null) {
+            entry.lastClose = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Lists every provider that is still reachable, largest first.
+     *
+     * @return A snapshot of the live providers
+     **/
+    public static List<Snapshot> getLive() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<ColorfulProvider<?>, Entry> entry : entries()) {
+            snapshots.add(snapshot(entry.getKey(), entry.getValue()));
+        }
+        snapshots.sort(Comparator.comparingLong((Snapshot snapshot) -> snapshot.getFootprint().getEstimatedBytes()).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Lists the providers that are closed and still reachable after {@link #getLeakAfter()}.
+     * Unreferenced providers are only removed after a garbage collection, so a
+     * suspect may just not have been collected yet.
+     *
+     * @return A snapshot of the suspected leaks, longest closed first
+     **/
+    public static List<Snapshot> getSuspects() {
+        long now = System.currentTimeMillis();
+        List<Snapshot> suspects = new ArrayList<>();
+        for (Snapshot snapshot : getLive()) {
+            if (!snapshot.isOpen() && now - snapshot.getLastClose() >= leakAfterMillis) {
+                suspects.add(snapshot);
+            }
+        }
+        suspects.sort(Comparator.comparingLong(Snapshot::getLastClose));
+        return suspects;
+    }
+
+    /**
+     * Sums the footprints of every live provider.
+     *
+     * @return The total footprint
+     **/
+    public static GuiFootprint getTotals() {
+        GuiFootprint total = new GuiFootprint();
+        for (Map.Entry<ColorfulProvider<?>, Entry> entry : entries()) {
+            Gui gui = entry.getKey().getGui();
+            if (gui != null) {
+                gui.collectFootprint(total);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves the number of live providers.
+     *
+     * @return The number of registered providers not collected yet
+     **/
+    public static int size() {
+        return providers.size();
+    }
+
+    /**
+     * Retrieves the time after which a closed, reachable provider is a leak suspect.
+     *
+     * @return The time in milliseconds
+     **/
+    public static long getLeakAfter() {
+        return leakAfterMillis;
+    }
+
+    /**
+     * Sets the time after which a closed, reachable provider is a leak suspect.
+     *
+     * @param millis The time in milliseconds
+     **/
+    public static void setLeakAfter(long millis) {
+        leakAfterMillis = Math.max(0, millis);
+    }
+
+    private static List<Map.Entry<ColorfulProvider<?>, Entry>> entries() {
+        synchronized (providers) {
+            return new ArrayList<>(providers.entrySet());
+        }
+    }
+
+    private static Snapshot snapshot(ColorfulProvider<?> provider, Entry entry) {
+        GuiFootprint footprint = new GuiFootprint();
+        Gui gui = provider.getGui();
+        boolean open = false;
+        if (gui != null) {
+            gui.collectFootprint(footprint);
+            open = gui.getInventory() != null && !gui.getInventory().getViewers().isEmpty();
+        }
+        String player = provider.getPlayer() != null ? provider.getPlayer().getName() : null;
+        return new Snapshot(entry.name, player, entry.created, entry.lastOpen, entry.lastClose, open, footprint);
+    }
+
+    private static final class Entry {
+
+        private final String name;
+        private final long created = System.currentTimeMillis();
+        private volatile long lastOpen;
+        private volatile long lastClose;
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * State of a live provider at the time it was listed.
+     * Holds no reference to the provider itself.
+     */
+    public static final class Snapshot {
+
+        private final String name;
+        private final String player;
+        private final long created;
+        private final long lastOpen;
+        private final long lastClose;
+        private final boolean open;
+        private final GuiFootprint footprint;
+
+        private Snapshot(String name, String player, long created, long lastOpen, long lastClose, boolean open, GuiFootprint footprint) {
+            this.name = name;
+            this.player = player;
+            this.created = created;
+            this.lastOpen = lastOpen;
+            this.lastClose = lastClose;
+            this.open = open;
+            this.footprint = footprint;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getLastOpen() {
+            return lastOpen;
+        }
+
+        /**
+         * Retrieves the time of the last close, or of the registration if it was never closed.
+         *
+         * @return The time in epoch milliseconds
+         **/
+        public long getLastClose() {
+            return lastClose != 0 ? lastClose : created;
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        public GuiFootprint getFootprint() {
+            return footprint;
+        }
+
+    }
+
+}
@@ -0,0 +1,328 @@
+package me.xflyiwnl.colorfulgui.debug;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches click actions and update handlers for slow invocations.
+ * While enabled, every invocation is timed; a sampler thread captures the stack
+ * of invocations that run past the threshold, so the log shows where the handler
+ * was stuck rather than where it was called from. Slow handlers are logged at most
+ * once per log interval each and are tracked in {@link #getOffenders(int)}.
+ */
+public class HandlerWatchdog {
+
+    /**
+     * The kind of user handler being watched.
+     */
+    public enum Kind {
+        CLICK,
+        UPDATE
+    }
+
+    private static final int STACK_DEPTH = 16;
+
+    private static volatile boolean enabled = false;
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private static volatile long logIntervalNanos = TimeUnit.SECONDS.toNanos(30);
+
+    // invocation currently running on each thread
+    private static final Map<Thread, Invocation> running = new ConcurrentHashMap<>();
+    // handler key -> offender statistics
+    private static final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService sampler;
+    private static ScheduledFuture<?> samplerTask;
+
+    private HandlerWatchdog() {
+    }
+
+    /**
+     * Starts watching a handler invocation.
+     *
+     * @param kind     The kind of handler
+     * @param provider The provider of the GUI
+     * @param item     The item the handler belongs to
+     * @param slot     The slot of the item, or -1 if unknown
+     * @param handler  The handler about to run
+     * @return The invocation to pass to {@link #end(Invocation)}, or null if the watchdog is disabled
+     **/
+    public static Invocation begin(Kind kind, ColorfulProvider<?> provider, GuiItem item, int slot, Object handler) {
+        if (!enabled) return null;
+        Thread thread = Thread.currentThread();
+        Invocation invocation = new Invocation(kind, thread, provider, item, slot, handler, running.get(thread));
+        running.put(thread, invocation);
+        return invocation;
+    }
+
+    /**
+     * Finishes watching a handler invocation.
+     *
+     * @param invocation The value returned by {@link #begin(Kind, ColorfulProvider, GuiItem, int, Object)}
+     **/
+    public static void end(Invocation invocation) {
+        if (invocation == null) return;
+        long duration = System.nanoTime() - invocation.start;
+        if (invocation.parent != null) {
+            running.put(invocation.thread, invocation.parent);
+        } else {
+            running.remove(invocation.thread);
+        }
+
+        if (duration < thresholdNanos) return;
+
+        Offender offender = offenders.computeIfAbsent(invocation.key(), key -> new Offender(invocation));
+        offender.record(invocation, duration);
+        if (offender.shouldLog(logIntervalNanos)) {
+            log(invocation, duration, offender);
+        }
+    }
+
+    private static void log(Invocation invocation, long duration, Offender offender) {
+        StringBuilder message = new StringBuilder()
+                .append("Slow ").append(invocation.kind.name().toLowerCase(Locale.ROOT)).append(" handler took ")
+                .append(String.format(Locale.ROOT, "%.2f", duration / 1_000_000.0)).append("ms")
+                .append(" (threshold ").append(thresholdNanos / 1_000_000).append("ms)")
+                .append("\n  provider: ").append(invocation.provider)
+                .append("\n  handler: ").append(invocation.handler)
+                .append("\n  item: ").append(invocation.item)
+                .append("\n  slot: ").append(invocation.slot)
+                .append("\n  slow invocations so far: ").append(offender.getCount());
+
+        StackTraceElement[] sample = invocation.sample;
+        if (sample != null) {
+            message.append("\n  sampled stack:");
+            for (int i = 0; i < Math.min(STACK_DEPTH, sample.length); i++) {
+                message.append("\n    at ").append(sample[i]);
+            }
+            if (sample.length > STACK_DEPTH) {
+                message.append("\n    ... ").append(sample.length - STACK_DEPTH).append(" more");
+            }
+        } else {
+            message.append("\n  no stack sampled, the handler finished between two samples");
+        }
+        ColorfulGUI.getInstance().getLogger().warning(message.toString());
+    }
+
+    private static void sample() {
+        long now = System.nanoTime();
+        for (Invocation invocation : running.values()) {
+            if (invocation.sample == null && now - invocation.start >= thresholdNanos) {
+                invocation.sample = invocation.thread.getStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the handlers that exceeded the threshold most often.
+     *
+     * @param limit The maximum number of handlers to return
+     * @return The offenders, most frequent first
+     **/
+    public static List<Offender> getOffenders(int limit) {
+        List<Offender> list = new ArrayList<>(offenders.values());
+        list.sort(Comparator.comparingLong(Offender::getCount).reversed());
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    /**
+     * Forgets every tracked offender.
+     **/
+    public static void reset() {
+        offenders.clear();
+    }
+
+    /**
+     * Checks if the watchdog is enabled.
+     *
+     * @return True if handlers are being timed
+     **/
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the watchdog and its sampler thread.
+     *
+     * @param enabled True to time handlers
+     **/
+    public static synchronized void setEnabled(boolean enabled) {
+        HandlerWatchdog.enabled = enabled;
+        if (enabled) {
+            scheduleSampler();
+        } else if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+            samplerTask = null;
+            running.clear();
+        }
+    }
+
+    /**
+     * Retrieves the slow handler threshold.
+     *
+     * @return The threshold in milliseconds
+     **/
+    public static long getThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    /**
+     * Sets the slow handler threshold.
+     *
+     * @param millis The threshold in milliseconds
+     **/
+    public static synchronized void setThreshold(long millis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+        if (enabled) {
+            scheduleSampler();
+        }
+    }
+
+    /**
+     * Sets the minimum time between two log entries of the same handler.
+     *
+     * @param seconds The log interval in seconds
+     **/
+    public static void setLogInterval(long seconds) {
+        logIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+    }
+
+    private static void scheduleSampler() {
+        if (sampler == null) {
+            sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ColorfulGUI-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (samplerTask != null) {
+            samplerTask.cancel(false);
+        }
+        // sample twice per threshold, so a stuck handler is caught while it is still stuck
+        long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 2);
+        samplerTask = sampler.scheduleAtFixedRate(HandlerWatchdog::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A single running handler invocation.
+     */
+    public static final class Invocation {
+
+        private final Kind kind;
+        private final Thread thread;
+        private final String provider;
+        private final String handler;
+        private final String item;
+        private final int slot;
+        private final Invocation parent;
+        private final long start = System.nanoTime();
+        private volatile StackTraceElement[] sample;
+
+        private Invocation(Kind kind, Thread thread, ColorfulProvider<?> provider, GuiItem item, int slot, Object handler, Invocation parent) {
+            this.kind = kind;
+            this.thread = thread;
+            this.provider = provider == null ? "unknown" : provider.getClass().getName();
+            this.handler = handler == null ? "unknown" : handler.getClass().getName();
+            this.item = item == null ? "unknown" : item.getUniqueId() + (item.getItemStack() != null ? " (" + item.getItemStack().getType() + ")" : "");
+            this.slot = slot;
+            this.parent = parent;
+        }
+
+        private String key() {
+            return kind + ":" + provider + ":" + handler;
+        }
+
+    }
+
+    /**
+     * Statistics of a handler that exceeded the threshold.
+     */
+    public static final class Offender {
+
+        private final Kind kind;
+        private final String provider;
+        private final String handler;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastSeen;
+        private long lastLogged;
+        private String lastItem;
+        private int lastSlot;
+
+        private Offender(Invocation invocation) {
+            this.kind = invocation.kind;
+            this.provider = invocation.provider;
+            this.handler = invocation.handler;
+        }
+
+        private synchronized void record(Invocation invocation, long duration) {
+            count++;
+            totalNanos += duration;
+            maxNanos = Math.max(maxNanos, duration);
+            lastSeen = System.currentTimeMillis();
+            lastItem = invocation.item;
+            lastSlot = invocation.slot;
+        }
+
+        private synchronized boolean shouldLog(long interval) {
+            long now = System.nanoTime();
+            if (lastLogged != 0 && now - lastLogged < interval) {
+                return false;
+            }
+            lastLogged = now;
+            return true;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public String getHandler() {
+            return handler;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public synchronized long getLastSeen() {
+            return lastSeen;
+        }
+
+        public synchronized String getLastItem() {
+            return lastItem;
+        }
+
+        public synchronized int getLastSlot() {
+            return lastSlot;
+        }
+
+    }
+
+}
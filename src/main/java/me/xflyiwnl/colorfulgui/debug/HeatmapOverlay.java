@@ -0,0 +1,82 @@
+package me.xflyiwnl.colorfulgui.debug;
+
+import me.xflyiwnl.colorfulgui.listener.GuiInventories;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read-only copy of a {@link Gui} that shows its {@link SlotHeatmap}.
+ * Every slot becomes a glass pane tinted by its write frequency, relative to
+ * the most written slot, with the exact counts in the lore.
+ */
+public class HeatmapOverlay implements InventoryHolder {
+
+    // panes from cold to hot
+    private static final Material[] BUCKETS = {
+            Material.LIGHT_BLUE_STAINED_GLASS_PANE,
+            Material.LIME_STAINED_GLASS_PANE,
+            Material.YELLOW_STAINED_GLASS_PANE,
+            Material.ORANGE_STAINED_GLASS_PANE,
+            Material.RED_STAINED_GLASS_PANE
+    };
+
+    private final Inventory inventory;
+
+    /**
+     * Creates the overlay of a GUI.
+     *
+     * @param gui     The GUI to inspect
+     * @param heatmap The heatmap of the GUI
+     **/
+    public HeatmapOverlay(Gui gui, SlotHeatmap heatmap) {
+        Inventory source = gui.getInventory();
+        this.inventory = Bukkit.createInventory(this, source.getSize(), ColorUtils.colorize("&8Heatmap &7| &r" + gui.getTitle()));
+        GuiInventories.register(inventory, this);
+
+        int max = heatmap.getMaxWrites();
+        for (int slot = 0; slot < source.getSize() && slot < heatmap.getSize(); slot++) {
+            inventory.setItem(slot, pane(slot, source.getItem(slot), heatmap, max));
+        }
+    }
+
+    private static ItemStack pane(int slot, ItemStack original, SlotHeatmap heatmap, int max) {
+        int writes = heatmap.getWrites(slot);
+        ItemStack pane = new ItemStack(bucket(writes, max));
+        ItemMeta meta = pane.getItemMeta();
+
+        meta.setDisplayName(ColorUtils.colorize("&fSlot " + slot + " &7(row " + (slot / 9 + 1) + ", col " + (slot % 9 + 1) + ")"));
+        List<String> lore = new ArrayList<>();
+        lore.add(ColorUtils.colorize("&7Writes: &f" + writes));
+        lore.add(ColorUtils.colorize("&7Average size: &f" + String.format(Locale.ROOT, "%.1f", heatmap.getAverageBytes(slot)) + " bytes"));
+        lore.add(ColorUtils.colorize("&7Item: &f" + (original == null ? "empty" : original.getType().name().toLowerCase(Locale.ROOT))));
+        meta.setLore(lore);
+
+        pane.setItemMeta(meta);
+        return pane;
+    }
+
+    private static Material bucket(int writes, int max) {
+        if (writes == 0 || max == 0) {
+            return Material.GRAY_STAINED_GLASS_PANE;
+        }
+        int index = (int) Math.ceil((double) writes / max * BUCKETS.length) - 1;
+        return BUCKETS[Math.max(0, Math.min(BUCKETS.length - 1, index))];
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+
+}
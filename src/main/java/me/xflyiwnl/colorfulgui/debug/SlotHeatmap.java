@@ -0,0 +1,152 @@
+package me.xflyiwnl.colorfulgui.debug;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Counts slot writes of a single {@link me.xflyiwnl.colorfulgui.object.Gui}.
+ * Recording is a debug mode: it is off by default and, while on, every write
+ * serializes the written stack to measure its size.
+ */
+public class SlotHeatmap {
+
+    private static volatile boolean enabled = false;
+
+    // writes per slot
+    private final int[] writes;
+    // serialized bytes written per slot
+    private final long[] bytes;
+
+    /**
+     * Creates an empty heatmap.
+     *
+     * @param size The inventory size
+     **/
+    public SlotHeatmap(int size) {
+        this.writes = new int[size];
+        this.bytes = new long[size];
+    }
+
+    /**
+     * Records a write of a slot.
+     *
+     * @param slot      The written slot
+     * @param itemStack The written {@link ItemStack}, may be null
+     **/
+    public void record(int slot, ItemStack itemStack) {
+        if (slot < 0 || slot >= writes.length) return;
+        writes[slot]++;
+        if (itemStack != null && !itemStack.isEmpty()) {
+            bytes[slot] += itemStack.serializeAsBytes().length;
+        }
+    }
+
+    /**
+     * Retrieves the number of writes of a slot.
+     *
+     * @param slot The slot
+     * @return The number of writes
+     **/
+    public int getWrites(int slot) {
+        return writes[slot];
+    }
+
+    /**
+     * Retrieves the average serialized size of the stacks written to a slot.
+     *
+     * @param slot The slot
+     * @return The average size in bytes, or 0 if the slot was never written
+     **/
+    public double getAverageBytes(int slot) {
+        return writes[slot] == 0 ? 0 : (double) bytes[slot] / writes[slot];
+    }
+
+    /**
+     * Retrieves the highest write count of all slots.
+     *
+     * @return The highest write count
+     **/
+    public int getMaxWrites() {
+        int max = 0;
+        for (int count : writes) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    /**
+     * Retrieves the total number of writes.
+     *
+     * @return The total number of writes
+     **/
+    public long getTotalWrites() {
+        long total = 0;
+        for (int count : writes) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves the number of tracked slots.
+     *
+     * @return The inventory size
+     **/
+    public int getSize() {
+        return writes.length;
+    }
+
+    /**
+     * Clears every count.
+     **/
+    public void reset() {
+        Arrays.fill(writes, 0);
+        Arrays.fill(bytes, 0);
+    }
+
+    /**
+     * Writes the heatmap as CSV: {@code slot,row,col,writes,bytes,avg_bytes}.
+     *
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     **/
+    public void dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("slot,row,col,writes,bytes,avg_bytes");
+            writer.newLine();
+            for (int slot = 0; slot < writes.length; slot++) {
+                writer.write(slot + "," + (slot / 9) + "," + (slot % 9) + "," + writes[slot] + "," + bytes[slot] + ","
+                        + String.format(Locale.ROOT, "%.1f", getAverageBytes(slot)));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Checks if slot writes are being recorded.
+     *
+     * @return True if the debug mode is on
+     **/
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording of slot writes on or off.
+     *
+     * @param enabled True to record slot writes
+     **/
+    public static void setEnabled(boolean enabled) {
+        SlotHeatmap.enabled = enabled;
+    }
+
+}
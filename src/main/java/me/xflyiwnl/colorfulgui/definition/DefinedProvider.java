@@ -0,0 +1,202 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.expression.ExpressionContext;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.object.StaticItem;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickStaticAction;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Provider of a GUI created from a {@link GuiDefinition}.
+ * The GUI keeps the definition it was opened with, so reloading the file does not change it.
+ */
+public class DefinedProvider extends ColorfulProvider<Gui> {
+
+    private final GuiDefinition definition;
+
+    // variable values of the viewer, reset on every update
+    private ExpressionContext context;
+    // item of each template of the definition, in the same order
+    private StaticItem[] items;
+    // items whose text depends on the viewer, with the text they show
+    private final List<Rendered> dynamic = new ArrayList<>();
+    // items whose stack changed in the last update
+    private final List<StaticItem> changedItems = new ArrayList<>();
+    // true if the last update showed or hid an item
+    private boolean placementChanged = false;
+
+    /**
+     * Constructs a provider for a definition.
+     *
+     * @param player     The player the GUI is shown to
+     * @param definition The compiled definition
+     **/
+    public DefinedProvider(Player player, GuiDefinition definition) {
+        super(player, definition.getUpdateInterval());
+        this.definition = definition;
+    }
+
+    /**
+     * Places the items of the definition, the prebuilt stacks are shared, only the items are created.
+     * Conditions and placeholders are evaluated for the viewer; conditions of paginated content are
+     * evaluated once here, so the pages do not shift while the GUI is open.
+     **/
+    @Override
+    public void init() {
+        Gui gui = getGui();
+        context = new ExpressionContext(getPlayer());
+
+        List<ItemTemplate> templates = definition.getItems();
+        items = new StaticItem[templates.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = instantiate(templates.get(i));
+        }
+        place();
+
+        for (ItemTemplate template : definition.getContent()) {
+            if (!template.isVisible(context)) continue;
+            gui.addItem(instantiate(template));
+        }
+    }
+
+    /**
+     * Evaluates the conditions and placeholders again and records what changed,
+     * it is written by {@link #showUpdated(Collection)}.
+     **/
+    @Override
+    public void update() {
+        context.reset();
+
+        for (Rendered rendered : dynamic) {
+            refresh(rendered);
+        }
+        placementChanged |= place();
+    }
+
+    /**
+     * Writes what the last update changed: the GUI is rendered only if an item was shown or hidden,
+     * otherwise only the slots of items whose stack changed are written, and nothing if none did.
+     *
+     * @param items The items whose update handler ran
+     **/
+    @Override
+    public void showUpdated(Collection<? extends GuiItem> items) {
+        Gui gui = getGui();
+        if (placementChanged || !items.isEmpty()) {
+            gui.showUpdated(items);
+        } else {
+            for (StaticItem item : changedItems) {
+                gui.updateItem(item);
+            }
+        }
+        placementChanged = false;
+        changedItems.clear();
+    }
+
+    // puts the visible items in their slots, later templates cover earlier ones like in init
+    private boolean place() {
+        List<ItemTemplate> templates = definition.getItems();
+        Map<Integer, StaticItem> placed = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            ItemTemplate template = templates.get(i);
+            boolean visible = template.isVisible(context);
+            for (int slot : template.slots()) {
+                if (visible) {
+                    placed.put(slot, items[i]);
+                } else {
+                    placed.putIfAbsent(slot, null);
+                }
+            }
+        }
+
+        Gui gui = getGui();
+        boolean changed = false;
+        for (Map.Entry<Integer, StaticItem> entry : placed.entrySet()) {
+            StaticItem item = entry.getValue();
+            if (gui.getSetItems().get(entry.getKey()) == item) continue;
+            if (item == null) {
+                gui.removeSetItem(entry.getKey());
+            } else {
+                gui.setItem(entry.getKey(), item);
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    // only the text is rendered, a stack is built only if it differs from the shown text
+    private void refresh(Rendered rendered) {
+        ItemTemplate template = rendered.template;
+        String name = template.renderName(context);
+        List<String> lore = template.renderLore(context);
+        if (Objects.equals(name, rendered.name) && Objects.equals(lore, rendered.lore)) return;
+        rendered.name = name;
+        rendered.lore = lore;
+        rendered.item.setItemStack(template.build(name, lore));
+        changedItems.add(rendered.item);
+    }
+
+    private StaticItem instantiate(ItemTemplate template) {
+        ClickStaticAction action = template.actions().length == 0 ? null
+                : event -> DefinitionActions.run(this, event, template.actions());
+        if (!template.isDynamic()) {
+            StaticItem item = new StaticItem(template.getUniqueId(), template.getItemStack(), action);
+            item.setTags(template.getTags());
+            return item;
+        }
+
+        String name = template.renderName(context);
+        List<String> lore = template.renderLore(context);
+        StaticItem item = new StaticItem(template.getUniqueId(), template.build(name, lore), action);
+        item.setTags(template.getTags());
+        dynamic.add(new Rendered(item, template, name, lore));
+        return item;
+    }
+
+    /**
+     * Retrieves the definition the GUI was created from.
+     *
+     * @return The {@link GuiDefinition}
+     **/
+    public GuiDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Retrieves the variable values of the viewer.
+     *
+     * @return The {@link ExpressionContext}, reset on every update
+     **/
+    public ExpressionContext getContext() {
+        return context;
+    }
+
+    /**
+     * An item whose text depends on the viewer, with the text its stack was built from.
+     */
+    private static final class Rendered {
+
+        private final StaticItem item;
+        private final ItemTemplate template;
+        private String name;
+        private List<String> lore;
+
+        private Rendered(StaticItem item, ItemTemplate template, String name, List<String> lore) {
+            this.item = item;
+            this.template = template;
+            this.name = name;
+            this.lore = lore;
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.object.event.click.ClickStaticItemEvent;
+
+/**
+ * Action referenced by key from a GUI definition, registered with {@link DefinitionActions#register(String, DefinitionAction)}.
+ */
+public interface DefinitionAction {
+
+    /**
+     * Executes the action when an item of a defined GUI is clicked.
+     *
+     * @param provider The provider of the clicked GUI
+     * @param event    The click event
+     * @param argument The text after the first ':' of the action, empty if there is none
+     */
+    void execute(DefinedProvider provider, ClickStaticItemEvent event, String argument);
+
+}
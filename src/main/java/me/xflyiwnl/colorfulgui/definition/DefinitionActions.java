@@ -0,0 +1,83 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.object.PaginatedGui;
+import me.xflyiwnl.colorfulgui.object.event.click.ClickStaticItemEvent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the actions GUI definitions refer to by key.
+ * Keys are resolved when an item is clicked, so actions may be registered after the definitions are loaded.
+ * Built in: {@code close}, {@code next}, {@code previous}, {@code open:<definition>} and {@code command:<command>}.
+ */
+public class DefinitionActions {
+
+    private static final Map<String, DefinitionAction> actions = new ConcurrentHashMap<>();
+
+    static {
+        register("close", (provider, event, argument) -> provider.getPlayer().closeInventory());
+        register("next", (provider, event, argument) -> {
+            if (provider.getGui() instanceof PaginatedGui gui) gui.next();
+        });
+        register("previous", (provider, event, argument) -> {
+            if (provider.getGui() instanceof PaginatedGui gui) gui.previous();
+        });
+        register("open", (provider, event, argument) -> GuiDefinitions.open(provider.getPlayer(), argument));
+        register("command", (provider, event, argument) -> provider.getPlayer().performCommand(argument));
+    }
+
+    private DefinitionActions() {
+    }
+
+    /**
+     * Registers an action, replacing any action with the same key.
+     *
+     * @param key    The key definitions use, case insensitive
+     * @param action The action
+     **/
+    public static void register(String key, DefinitionAction action) {
+        actions.put(key.toLowerCase(Locale.ROOT), action);
+    }
+
+    /**
+     * Removes an action.
+     *
+     * @param key The key of the action
+     **/
+    public static void unregister(String key) {
+        actions.remove(key.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Retrieves an action.
+     *
+     * @param key The key of the action
+     * @return The action, or null if none is registered
+     **/
+    public static DefinitionAction get(String key) {
+        return actions.get(key.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Runs the actions of a clicked item.
+     *
+     * @param provider The provider of the clicked GUI
+     * @param event    The click event
+     * @param calls    The actions of the item
+     **/
+    static void run(DefinedProvider provider, ClickStaticItemEvent event, ItemTemplate.ActionCall[] calls) {
+        for (ItemTemplate.ActionCall call : calls) {
+            DefinitionAction action = get(call.getKey());
+            if (action == null) {
+                ColorfulGUI.getInstance().getLogger().warning("Unknown action '" + call.getKey()
+                        + "' in definition " + provider.getDefinition().getId());
+                continue;
+            }
+            action.execute(provider, event, call.getArgument());
+        }
+    }
+
+}
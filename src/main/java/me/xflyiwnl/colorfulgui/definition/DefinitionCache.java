@@ -0,0 +1,220 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.expression.TextTemplate;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Binary snapshot of compiled {@link GuiDefinition}s, so menus are not built again on every start.
+ * Item stacks are stored with {@link ItemStack#serializeAsBytes()}, which skips the builders, colorizing
+ * and skull lookups when the cache is read. The file is read into a heap buffer in one call and
+ * closed before parsing, so it can be replaced right after, also on Windows where a mapped file cannot be.
+ * A cached definition is used only if the hash of its source file is unchanged; the whole file is
+ * ignored when it was written by another cache version or server version, whose stacks may differ.
+ */
+public class DefinitionCache {
+
+    private static final int MAGIC = 0x43474443; // "CGDC"
+    private static final int VERSION = 1;
+
+    private DefinitionCache() {
+    }
+
+    /**
+     * Reads the cached definitions.
+     *
+     * @param file The cache file
+     * @return Id to cached definition, empty if the file is missing, outdated or damaged
+     **/
+    public static Map<String, GuiDefinition> read(Path file) {
+        Map<String, GuiDefinition> definitions = new HashMap<>();
+        if (!Files.exists(file)) return definitions;
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || !serverVersion().equals(readString(buffer))) {
+                return definitions;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                GuiDefinition definition = readDefinition(buffer);
+                if (definition != null) definitions.put(definition.getId(), definition);
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Ignoring damaged definition cache " + file, e);
+            definitions.clear();
+        }
+        return definitions;
+    }
+
+    /**
+     * Writes the definitions to the cache, replacing it atomically.
+     *
+     * @param file        The cache file
+     * @param definitions The definitions to store
+     **/
+    public static void write(Path file, Collection<GuiDefinition> definitions) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                writeString(out, serverVersion());
+                out.writeInt(definitions.size());
+                for (GuiDefinition definition : definitions) {
+                    writeDefinition(out, definition);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not write definition cache " + file, e);
+        }
+    }
+
+    private static void writeDefinition(DataOutputStream out, GuiDefinition definition) throws IOException {
+        writeString(out, definition.getId());
+        writeString(out, definition.getHash());
+        out.writeByte(definition.getType().ordinal());
+        writeString(out, definition.getTitle());
+        out.writeByte(definition.getRows());
+        out.writeInt(definition.getUpdateInterval());
+        writeItems(out, definition.getItems());
+        writeItems(out, definition.getContent());
+    }
+
+    private static void writeItems(DataOutputStream out, List<ItemTemplate> items) throws IOException {
+        out.writeInt(items.size());
+        for (ItemTemplate item : items) {
+            writeString(out, item.getId());
+            out.writeLong(item.getUniqueId().getMostSignificantBits());
+            out.writeLong(item.getUniqueId().getLeastSignificantBits());
+            byte[] stack = item.getItemStack().serializeAsBytes();
+            out.writeInt(stack.length);
+            out.write(stack);
+
+            out.writeShort(item.slots().length);
+            for (int slot : item.slots()) {
+                out.writeByte(slot);
+            }
+            out.writeShort(item.actions().length);
+            for (ItemTemplate.ActionCall action : item.actions()) {
+                writeString(out, action.getText());
+            }
+            out.writeShort(item.getTags().size());
+            for (String tag : item.getTags()) {
+                writeString(out, tag);
+            }
+
+            // expressions are stored as text and compiled again, a lambda cannot be stored
+            writeString(out, item.conditionSource());
+            writeString(out, item.name() == null ? null : item.name().getSource());
+            TextTemplate[] lore = item.lore();
+            out.writeShort(lore == null ? -1 : lore.length);
+            if (lore != null) {
+                for (TextTemplate line : lore) {
+                    writeString(out, line.getSource());
+                }
+            }
+        }
+    }
+
+    private static GuiDefinition readDefinition(ByteBuffer buffer) {
+        String id = readString(buffer);
+        String hash = readString(buffer);
+        GuiDefinition.Type type = GuiDefinition.Type.values()[buffer.get()];
+        String title = readString(buffer);
+        int rows = buffer.get();
+        int update = buffer.getInt();
+        List<ItemTemplate> items = new ArrayList<>();
+        List<ItemTemplate> content = new ArrayList<>();
+        // both lists are always read, so the buffer stays at the next definition
+        boolean valid = readItems(buffer, id, "items.", items) & readItems(buffer, id, "content.", content);
+        // invalid if a variable used by the definition is not registered any more, it is compiled from its file
+        return valid ? new GuiDefinition(id, type, title, rows, update, items, content, hash) : null;
+    }
+
+    private static boolean readItems(ByteBuffer buffer, String id, String path, List<ItemTemplate> items) {
+        int count = buffer.getInt();
+        boolean valid = true;
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            UUID uniqueId = new UUID(buffer.getLong(), buffer.getLong());
+            byte[] stack = new byte[buffer.getInt()];
+            buffer.get(stack);
+
+            int[] slots = new int[buffer.getShort()];
+            for (int slot = 0; slot < slots.length; slot++) {
+                slots[slot] = buffer.get();
+            }
+            int actionCount = buffer.getShort();
+            List<String> actions = new ArrayList<>(actionCount);
+            for (int action = 0; action < actionCount; action++) {
+                actions.add(readString(buffer));
+            }
+            int tagCount = buffer.getShort();
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int tag = 0; tag < tagCount; tag++) {
+                tags.add(readString(buffer));
+            }
+
+            String condition = readString(buffer);
+            String name = readString(buffer);
+            int loreCount = buffer.getShort();
+            List<String> lore = loreCount < 0 ? null : new ArrayList<>(loreCount);
+            for (int line = 0; line < loreCount; line++) {
+                lore.add(readString(buffer));
+            }
+
+            if (!valid) continue;
+            try {
+                items.add(DefinitionCompiler.template(id, path + key, key, uniqueId, ItemStack.deserializeBytes(stack),
+                        slots, actions, tags, condition, name, lore));
+            } catch (DefinitionException e) {
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    // length prefixed UTF-8, -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String serverVersion() {
+        return Bukkit.getVersion();
+    }
+
+}
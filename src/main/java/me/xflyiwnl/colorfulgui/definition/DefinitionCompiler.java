@@ -0,0 +1,231 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.builder.item.StaticItemBuilder;
+import me.xflyiwnl.colorfulgui.expression.BooleanExpression;
+import me.xflyiwnl.colorfulgui.expression.Expression;
+import me.xflyiwnl.colorfulgui.expression.ExpressionException;
+import me.xflyiwnl.colorfulgui.expression.TextTemplate;
+import me.xflyiwnl.colorfulgui.object.StaticItem;
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Compiles definition files into {@link GuiDefinition}s.
+ * YAML and JSON are both accepted, JSON being a subset of YAML.
+ *
+ * <pre>
+ * title: "&amp;6Shop"
+ * rows: 3
+ * type: paginated        # static (default) or paginated
+ * update: 5              # seconds, optional
+ * mask:
+ *   - "#########"
+ *   - "#.......#"
+ *   - "###&lt;x&gt;###"
+ * items:
+ *   "#": { material: GRAY_STAINED_GLASS_PANE, name: " " }
+ *   "&lt;": { material: ARROW, name: "&amp;aBack", action: previous }
+ *   "x": { material: BARRIER, name: "&amp;cClose", action: close }
+ *   info: { slot: 4, material: BOOK, lore: ["&amp;7..."], actions: ["command:help"] }
+ *   vip: { slot: 13, material: DIAMOND, visible-if: "rank == 'vip'", name: "&amp;bHello ${player.name}" }
+ * content:               # paginated only, in order
+ *   apple: { material: APPLE, name: "&amp;fApple", lore: ["&amp;7${currency(price.apple)}"], tags: [food] }
+ * </pre>
+ *
+ * {@code visible-if} and the {@code ${...}} placeholders are {@link Expression}s, compiled here against the
+ * {@link me.xflyiwnl.colorfulgui.expression.Variables} registered at that time; an unknown variable or a
+ * type mismatch makes the definition invalid.
+ */
+public class DefinitionCompiler {
+
+    private DefinitionCompiler() {
+    }
+
+    /**
+     * Compiles a definition.
+     *
+     * @param id     The id of the definition, usually the file name without extension
+     * @param source The YAML or JSON text
+     * @return The compiled definition
+     * @throws DefinitionException If the text is not valid or a value is missing or wrong
+     */
+    public static GuiDefinition compile(String id, String source) throws DefinitionException {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(source);
+        } catch (InvalidConfigurationException e) {
+            throw new DefinitionException(id + ": " + e.getMessage(), e);
+        }
+
+        String title = config.getString("title");
+        if (title == null) throw new DefinitionException(id + ": 'title' is missing");
+
+        List<String> mask = config.getStringList("mask");
+        int rows = config.getInt("rows", Math.max(1, mask.size()));
+        if (rows < 1 || rows > 6) throw new DefinitionException(id + ": 'rows' must be between 1 and 6");
+        if (mask.size() > rows) throw new DefinitionException(id + ": 'mask' has more lines than 'rows'");
+        for (String line : mask) {
+            if (line.length() > 9) throw new DefinitionException(id + ": mask line '" + line + "' is longer than 9");
+        }
+
+        GuiDefinition.Type type;
+        try {
+            type = GuiDefinition.Type.valueOf(config.getString("type", "static").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new DefinitionException(id + ": unknown 'type' " + config.getString("type"));
+        }
+
+        int update = config.getInt("update", 0);
+        if (update < 0) throw new DefinitionException(id + ": 'update' must not be negative");
+
+        List<ItemTemplate> items = new ArrayList<>();
+        ConfigurationSection itemSection = config.getConfigurationSection("items");
+        if (itemSection != null) {
+            for (String key : itemSection.getKeys(false)) {
+                ConfigurationSection section = itemSection.getConfigurationSection(key);
+                if (section == null) throw new DefinitionException(id + ": 'items." + key + "' must be a section");
+                items.add(compileItem(id, "items." + key, key, section, slots(id, key, section, mask, rows)));
+            }
+        }
+
+        List<ItemTemplate> content = new ArrayList<>();
+        ConfigurationSection contentSection = config.getConfigurationSection("content");
+        if (contentSection != null) {
+            if (type != GuiDefinition.Type.PAGINATED) {
+                throw new DefinitionException(id + ": 'content' needs 'type: paginated'");
+            }
+            for (String key : contentSection.getKeys(false)) {
+                ConfigurationSection section = contentSection.getConfigurationSection(key);
+                if (section == null) throw new DefinitionException(id + ": 'content." + key + "' must be a section");
+                content.add(compileItem(id, "content." + key, key, section, new int[0]));
+            }
+        }
+
+        return new GuiDefinition(id, type, ColorUtils.colorize(title), rows, update, items, content, hash(source));
+    }
+
+    private static ItemTemplate compileItem(String id, String path, String key, ConfigurationSection section, int[] slots) throws DefinitionException {
+        String materialName = section.getString("material");
+        Material material = materialName == null ? null : Material.matchMaterial(materialName);
+        String skull = section.getString("skull");
+        if (material == null && skull == null) {
+            throw new DefinitionException(id + ": '" + path + ".material' is missing or unknown: " + materialName);
+        }
+
+        String name = section.getString("name");
+        List<String> lore = section.getStringList("lore");
+        boolean dynamicName = TextTemplate.hasPlaceholders(name);
+        boolean dynamicLore = lore.stream().anyMatch(TextTemplate::hasPlaceholders);
+        String condition = section.contains("visible-if") ? section.getString("visible-if") : section.getString("condition");
+
+        StaticItemBuilder builder = new StaticItemBuilder();
+        if (skull != null) builder.skull(skull);
+        if (material != null) builder.material(material);
+        if (name != null && !dynamicName) builder.name(name);
+        if (section.contains("lore") && !dynamicLore) builder.lore(lore);
+        builder.amount(section.getInt("amount", 1));
+        builder.model(section.getInt("model", 0));
+        builder.unbreakable(section.getBoolean("unbreakable", false));
+        if (section.getBoolean("hide-tooltip", false)) builder.hideAllToolTipsButNameLore();
+
+        List<String> actions = new ArrayList<>(section.getStringList("actions"));
+        if (section.isString("action")) actions.add(0, section.getString("action"));
+
+        StaticItem item = builder.build();
+        return template(id, path, key, item.getUniqueId(), item.getItemStack(), slots, actions, section.getStringList("tags"),
+                condition, dynamicName ? name : null, dynamicLore ? lore : null);
+    }
+
+    /**
+     * Creates an item template from its built stack, compiling the expressions of the item.
+     * Also used by {@link DefinitionCache} to restore cached templates without building the stack again.
+     *
+     * @param condition The visible-if expression, or null
+     * @param name      The name with placeholders, or null if it is part of the stack
+     * @param lore      The lore with placeholders, or null if it is part of the stack
+     * @throws DefinitionException If an expression is not valid
+     **/
+    static ItemTemplate template(String id, String path, String key, UUID uniqueId, ItemStack itemStack, int[] slots,
+                                 List<String> actionTexts, List<String> tags,
+                                 String condition, String name, List<String> lore) throws DefinitionException {
+        ItemTemplate.ActionCall[] actions = new ItemTemplate.ActionCall[actionTexts.size()];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = new ItemTemplate.ActionCall(actionTexts.get(i));
+        }
+
+        try {
+            BooleanExpression compiledCondition = condition == null ? null : Expression.condition(condition);
+            TextTemplate compiledName = name == null ? null : TextTemplate.compile(name);
+            TextTemplate[] compiledLore = null;
+            if (lore != null) {
+                compiledLore = new TextTemplate[lore.size()];
+                for (int i = 0; i < compiledLore.length; i++) {
+                    compiledLore[i] = TextTemplate.compile(lore.get(i));
+                }
+            }
+            return new ItemTemplate(key, uniqueId, itemStack, slots, actions, tags,
+                    condition, compiledCondition, compiledName, compiledLore);
+        } catch (ExpressionException e) {
+            throw new DefinitionException(id + ": '" + path + "' " + e.getMessage(), e);
+        }
+    }
+
+    private static int[] slots(String id, String key, ConfigurationSection section, List<String> mask, int rows) throws DefinitionException {
+        List<Integer> slots = new ArrayList<>();
+        if (section.isInt("slot")) {
+            slots.add(section.getInt("slot"));
+        } else if (section.isList("slots")) {
+            for (Object value : section.getList("slots")) {
+                if (!(value instanceof Number number)) {
+                    throw new DefinitionException(id + ": 'items." + key + ".slots' must only contain numbers");
+                }
+                slots.add(number.intValue());
+            }
+        } else if (key.length() == 1) {
+            // mask indicator, resolved once here instead of on every render
+            char indicator = key.charAt(0);
+            for (int row = 0; row < mask.size(); row++) {
+                String line = mask.get(row);
+                for (int col = 0; col < line.length(); col++) {
+                    if (line.charAt(col) == indicator) slots.add(row * 9 + col);
+                }
+            }
+        }
+
+        if (slots.isEmpty()) {
+            throw new DefinitionException(id + ": 'items." + key + "' needs 'slot', 'slots' or a mask indicator");
+        }
+        int[] array = new int[slots.size()];
+        for (int i = 0; i < array.length; i++) {
+            int slot = slots.get(i);
+            if (slot < 0 || slot >= rows * 9) {
+                throw new DefinitionException(id + ": slot " + slot + " of 'items." + key + "' is outside the GUI");
+            }
+            array[i] = slot;
+        }
+        return array;
+    }
+
+    static String hash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
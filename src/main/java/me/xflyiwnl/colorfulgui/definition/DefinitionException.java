@@ -0,0 +1,17 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+/**
+ * Thrown when a GUI definition cannot be compiled.
+ * The message names the definition and the path of the faulty value.
+ */
+public class DefinitionException extends Exception {
+
+    public DefinitionException(String message) {
+        super(message);
+    }
+
+    public DefinitionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
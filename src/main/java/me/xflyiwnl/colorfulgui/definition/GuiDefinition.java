@@ -0,0 +1,77 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import java.util.List;
+
+/**
+ * Immutable template of a GUI compiled from a definition file.
+ * Reloading a file creates a new template; GUIs already open keep the one they were created from.
+ */
+public final class GuiDefinition {
+
+    /**
+     * The kind of GUI a definition creates.
+     */
+    public enum Type {
+        STATIC,
+        PAGINATED
+    }
+
+    private final String id;
+    private final Type type;
+    // colorized
+    private final String title;
+    private final int rows;
+    // seconds between updates, 0 for none
+    private final int updateInterval;
+    // placed items, mask items are already resolved to their slots
+    private final List<ItemTemplate> items;
+    // items of a paginated GUI, in order
+    private final List<ItemTemplate> content;
+    // SHA-256 of the source file
+    private final String hash;
+
+    GuiDefinition(String id, Type type, String title, int rows, int updateInterval,
+                  List<ItemTemplate> items, List<ItemTemplate> content, String hash) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.rows = rows;
+        this.updateInterval = updateInterval;
+        this.items = List.copyOf(items);
+        this.content = List.copyOf(content);
+        this.hash = hash;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public List<ItemTemplate> getItems() {
+        return items;
+    }
+
+    public List<ItemTemplate> getContent() {
+        return content;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+}
@@ -0,0 +1,252 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.object.GuiMask;
+import me.xflyiwnl.colorfulgui.object.PaginatedGui;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Loads, holds and reloads the compiled {@link GuiDefinition}s of a directory.
+ * Files named {@code <id>.yml}, {@code <id>.yaml} or {@code <id>.json} define the GUI {@code <id>}.
+ * With {@link #watch()} a background thread recompiles changed files and swaps the new template in;
+ * a file that fails to compile is reported and the previous template stays in use.
+ * Compiled definitions are kept in {@code definitions.cache} of the directory, see {@link DefinitionCache};
+ * only files whose content changed since the cache was written are compiled on load.
+ */
+public class GuiDefinitions {
+
+    private static final String CACHE_FILE = "definitions.cache";
+
+    private static final Map<String, GuiDefinition> definitions = new ConcurrentHashMap<>();
+    // id -> last compile error, removed once the file compiles again
+    private static final Map<String, String> errors = new ConcurrentHashMap<>();
+
+    private static volatile Path directory;
+    private static WatchService watchService;
+    private static Thread watcher;
+    // held while the cache file is written
+    private static final Object cacheLock = new Object();
+
+    private GuiDefinitions() {
+    }
+
+    /**
+     * Compiles every definition file of a directory.
+     *
+     * @param directory The directory, created if missing
+     * @return The number of definitions that compiled
+     **/
+    public static int load(Path directory) {
+        GuiDefinitions.directory = directory;
+        long start = System.nanoTime();
+        int loaded = 0;
+        int fromCache = 0;
+        Map<String, GuiDefinition> cached = DefinitionCache.read(directory.resolve(CACHE_FILE));
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String id = id(file);
+                    if (id == null) continue;
+                    String source = read(file);
+                    if (source == null) continue;
+
+                    GuiDefinition definition = cached.get(id);
+                    if (definition != null && definition.getHash().equals(DefinitionCompiler.hash(source))) {
+                        definitions.put(id, definition);
+                        errors.remove(id);
+                        loaded++;
+                        fromCache++;
+                    } else if (compile(id, file, source)) {
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not read definitions from " + directory, e);
+        }
+
+        if (fromCache != loaded || cached.size() != fromCache) saveCache();
+        ColorfulGUI.getInstance().getLogger().info("Loaded " + loaded + " GUI definitions (" + fromCache + " from cache) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return loaded;
+    }
+
+    /**
+     * Starts recompiling definition files of the loaded directory when they change.
+     **/
+    public static synchronized void watch() {
+        if (watcher != null || directory == null) return;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not watch " + directory, e);
+            return;
+        }
+        WatchService service = watchService;
+        watcher = new Thread(() -> watchLoop(service), "ColorfulGUI-definitions");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the definition files.
+     **/
+    public static synchronized void stopWatching() {
+        if (watcher == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watcher.interrupt();
+        watcher = null;
+        watchService = null;
+    }
+
+    /**
+     * Opens a defined GUI.
+     *
+     * @param player The player to show the GUI to
+     * @param id     The id of the definition
+     * @return The provider of the opened GUI, or null if no such definition is loaded
+     **/
+    public static DefinedProvider open(Player player, String id) {
+        GuiDefinition definition = definitions.get(id);
+        if (definition == null) return null;
+
+        DefinedProvider provider = new DefinedProvider(player, definition);
+        GuiMask mask = new GuiMask();
+        Gui gui = definition.getType() == GuiDefinition.Type.PAGINATED
+                ? new PaginatedGui(provider, definition.getTitle(), definition.getRows(), mask)
+                : new Gui(provider, definition.getTitle(), definition.getRows(), mask);
+        gui.setHolder(provider);
+        mask.setGui(gui);
+        provider.setGui(gui);
+        GuiRegistry.register(provider);
+        provider.init();
+        provider.show();
+        return provider;
+    }
+
+    /**
+     * Retrieves a definition.
+     *
+     * @param id The id of the definition
+     * @return The current template, or null if none is loaded
+     **/
+    public static GuiDefinition get(String id) {
+        return definitions.get(id);
+    }
+
+    /**
+     * Retrieves the loaded definitions.
+     *
+     * @return An unmodifiable view of id to definition
+     **/
+    public static Map<String, GuiDefinition> getDefinitions() {
+        return Collections.unmodifiableMap(definitions);
+    }
+
+    /**
+     * Retrieves the errors of files that did not compile.
+     *
+     * @return An unmodifiable view of id to error message
+     **/
+    public static Map<String, String> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    private static void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                // editors often write a file in several steps
+                Thread.sleep(100);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path name)) continue;
+                    Path file = directory.resolve(name);
+                    String id = id(file);
+                    if (id == null) continue;
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        definitions.remove(id);
+                        errors.remove(id);
+                        saveCache();
+                        continue;
+                    }
+                    String source = read(file);
+                    if (source != null && compile(id, file, source)) {
+                        ColorfulGUI.getInstance().getLogger().info("Reloaded GUI definition " + id);
+                        saveCache();
+                    }
+                }
+                if (!key.reset()) break;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            errors.put(id(file), String.valueOf(e));
+            ColorfulGUI.getInstance().getLogger().warning("GUI definition " + file.getFileName() + " could not be read: " + e);
+            return null;
+        }
+    }
+
+    private static boolean compile(String id, Path file, String source) {
+        try {
+            GuiDefinition definition = DefinitionCompiler.compile(id, source);
+            definitions.put(id, definition);
+            errors.remove(id);
+            return true;
+        } catch (DefinitionException e) {
+            errors.put(id, e.getMessage());
+            ColorfulGUI.getInstance().getLogger().warning("GUI definition " + file.getFileName() + " was not loaded: " + e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            errors.put(id, String.valueOf(e));
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "GUI definition " + file.getFileName() + " was not loaded", e);
+            return false;
+        }
+    }
+
+    private static void saveCache() {
+        Path directory = GuiDefinitions.directory;
+        if (directory == null) return;
+        synchronized (cacheLock) {
+            DefinitionCache.write(directory.resolve(CACHE_FILE), new ArrayList<>(definitions.values()));
+        }
+    }
+
+    private static String id(Path file) {
+        String name = file.getFileName().toString();
+        for (String extension : new String[]{".yml", ".yaml", ".json"}) {
+            if (name.endsWith(extension)) return name.substring(0, name.length() - extension.length());
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,196 @@
+package me.xflyiwnl.colorfulgui.definition;
+
+import me.xflyiwnl.colorfulgui.expression.BooleanExpression;
+import me.xflyiwnl.colorfulgui.expression.ExpressionContext;
+import me.xflyiwnl.colorfulgui.expression.TextTemplate;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compiled item of a {@link GuiDefinition}.
+ * The {@link ItemStack} is built once, with colours applied and the item id stored in it,
+ * and shared by every GUI opened from the definition; it must not be modified.
+ * Items with a {@code visible-if} condition or placeholders in their name or lore are evaluated per viewer,
+ * see {@link #isVisible(ExpressionContext)} and {@link #render(ExpressionContext)}.
+ */
+public final class ItemTemplate {
+
+    private final String id;
+    private final UUID uniqueId;
+    private final ItemStack itemStack;
+    // slots the item is placed in, empty for paginated content
+    private final int[] slots;
+    private final ActionCall[] actions;
+    private final List<String> tags;
+    // null when the item is always shown
+    private final String conditionSource;
+    private final BooleanExpression condition;
+    // null when the name or lore has no placeholders and is already part of the stack
+    private final TextTemplate name;
+    private final TextTemplate[] lore;
+
+    ItemTemplate(String id, UUID uniqueId, ItemStack itemStack, int[] slots, ActionCall[] actions, List<String> tags,
+                 String conditionSource, BooleanExpression condition, TextTemplate name, TextTemplate[] lore) {
+        this.id = id;
+        this.uniqueId = uniqueId;
+        this.itemStack = itemStack;
+        this.slots = slots;
+        this.actions = actions;
+        this.tags = List.copyOf(tags);
+        this.conditionSource = conditionSource;
+        this.condition = condition;
+        this.name = name;
+        this.lore = lore;
+    }
+
+    /**
+     * Evaluates the condition of the item.
+     *
+     * @param context The values of the viewer
+     * @return True if the item has no condition or the condition holds
+     **/
+    public boolean isVisible(ExpressionContext context) {
+        return condition == null || condition.evaluate(context);
+    }
+
+    /**
+     * Builds the stack of the item for a viewer.
+     * Static items return the shared stack, dynamic items a copy with the name and lore rendered.
+     *
+     * @param context The values of the viewer
+     * @return The {@link ItemStack} to show
+     **/
+    public ItemStack render(ExpressionContext context) {
+        if (!isDynamic()) return itemStack;
+        return build(renderName(context), renderLore(context));
+    }
+
+    /**
+     * Renders the name of the item for a viewer, without building a stack.
+     *
+     * @param context The values of the viewer
+     * @return The name, or null if the name has no placeholders
+     **/
+    public String renderName(ExpressionContext context) {
+        return name == null ? null : name.render(context);
+    }
+
+    /**
+     * Renders the lore of the item for a viewer, without building a stack.
+     *
+     * @param context The values of the viewer
+     * @return The lines, or null if the lore has no placeholders
+     **/
+    public List<String> renderLore(ExpressionContext context) {
+        if (lore == null) return null;
+        List<String> lines = new ArrayList<>(lore.length);
+        for (TextTemplate line : lore) {
+            lines.add(line.render(context));
+        }
+        return lines;
+    }
+
+    /**
+     * Builds a copy of the shared stack with a rendered name and lore.
+     *
+     * @param renderedName The name from {@link #renderName(ExpressionContext)}, null keeps the name of the stack
+     * @param renderedLore The lore from {@link #renderLore(ExpressionContext)}, null keeps the lore of the stack
+     * @return The {@link ItemStack} to show
+     **/
+    public ItemStack build(String renderedName, List<String> renderedLore) {
+        ItemStack rendered = itemStack.clone();
+        ItemMeta meta = rendered.getItemMeta();
+        if (meta == null) return rendered;
+        if (renderedName != null) meta.setDisplayName(renderedName);
+        if (renderedLore != null) meta.setLore(renderedLore);
+        rendered.setItemMeta(meta);
+        return rendered;
+    }
+
+    /**
+     * Checks if the name or lore depends on the viewer.
+     *
+     * @return True if {@link #render(ExpressionContext)} has to be called for every viewer
+     **/
+    public boolean isDynamic() {
+        return name != null || lore != null;
+    }
+
+    /**
+     * Checks if the item has a {@code visible-if} condition.
+     *
+     * @return True if the item may be hidden
+     **/
+    public boolean isConditional() {
+        return condition != null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UUID getUniqueId() {
+        return uniqueId;
+    }
+
+    public ItemStack getItemStack() {
+        return itemStack;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    int[] slots() {
+        return slots;
+    }
+
+    ActionCall[] actions() {
+        return actions;
+    }
+
+    String conditionSource() {
+        return conditionSource;
+    }
+
+    TextTemplate name() {
+        return name;
+    }
+
+    TextTemplate[] lore() {
+        return lore;
+    }
+
+    /**
+     * Action key with its argument, split once when the definition is compiled.
+     */
+    static final class ActionCall {
+
+        private final String key;
+        private final String argument;
+
+        ActionCall(String text) {
+            int separator = text.indexOf(':');
+            this.key = separator < 0 ? text.trim() : text.substring(0, separator).trim();
+            this.argument = separator < 0 ? "" : text.substring(separator + 1).trim();
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getArgument() {
+            return argument;
+        }
+
+        String getText() {
+            return argument.isEmpty() ? key : key + ":" + argument;
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Compiled expression with a boolean result, evaluated without allocating.
+ */
+@FunctionalInterface
+public interface BooleanExpression {
+
+    boolean evaluate(ExpressionContext context);
+
+}
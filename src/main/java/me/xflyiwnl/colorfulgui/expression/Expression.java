@@ -0,0 +1,165 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Compiled expression.
+ * Expressions are parsed once into a tree of lambdas; sub-expressions without variables are evaluated
+ * while compiling and replaced by their value. Numeric and boolean expressions evaluate on primitives only.
+ *
+ * <pre>
+ * balance &gt;= price &amp;&amp; !banned
+ * currency(balance * 0.9)
+ * 'Level ' + level + (vip ? ' (VIP)' : '')
+ * </pre>
+ *
+ * Operators: {@code + - * / % < <= > >= == != && || ! ?:}, {@code +} joins text if either side is text.
+ * Functions: {@code min, max, abs, round, floor, ceil, format(number, pattern), currency(number), upper, lower}.
+ */
+public final class Expression {
+
+    private final ValueType type;
+    private final boolean constant;
+    private final NumberExpression number;
+    private final BooleanExpression bool;
+    private final StringExpression string;
+
+    Expression(ValueType type, boolean constant, NumberExpression number, BooleanExpression bool, StringExpression string) {
+        this.type = type;
+        this.constant = constant;
+        this.number = number;
+        this.bool = bool;
+        this.string = string;
+    }
+
+    static Expression ofNumber(NumberExpression number, boolean constant) {
+        return new Expression(ValueType.NUMBER, constant, number, null, null).fold();
+    }
+
+    static Expression ofBoolean(BooleanExpression bool, boolean constant) {
+        return new Expression(ValueType.BOOLEAN, constant, null, bool, null).fold();
+    }
+
+    static Expression ofString(StringExpression string, boolean constant) {
+        return new Expression(ValueType.STRING, constant, null, null, string).fold();
+    }
+
+    static Expression constant(double value) {
+        return new Expression(ValueType.NUMBER, true, context -> value, null, null);
+    }
+
+    static Expression constant(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    static Expression constant(String value) {
+        return new Expression(ValueType.STRING, true, null, null, context -> value);
+    }
+
+    private static final Expression TRUE = new Expression(ValueType.BOOLEAN, true, null, context -> true, null);
+    private static final Expression FALSE = new Expression(ValueType.BOOLEAN, true, null, context -> false, null);
+
+    // replaces a constant expression by its value, so it is not computed again on evaluation
+    private Expression fold() {
+        if (!constant) return this;
+        return switch (type) {
+            case NUMBER -> constant(number.evaluate(null));
+            case BOOLEAN -> constant(bool.evaluate(null));
+            case STRING -> constant(string.evaluate(null));
+        };
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source The expression
+     * @return The compiled expression
+     * @throws ExpressionException If the expression is not valid
+     */
+    public static Expression compile(String source) {
+        return new ExpressionCompiler(source).compile();
+    }
+
+    /**
+     * Compiles an expression that must have a boolean result.
+     *
+     * @param source The expression
+     * @return The compiled condition
+     * @throws ExpressionException If the expression is not valid or not boolean
+     */
+    public static BooleanExpression condition(String source) {
+        return compile(source).asBoolean();
+    }
+
+    public ValueType getType() {
+        return type;
+    }
+
+    /**
+     * Checks if the expression does not depend on variables.
+     *
+     * @return True if the result is always the same
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    /**
+     * Retrieves the numeric form of the expression.
+     *
+     * @return The compiled numeric expression
+     * @throws ExpressionException If the expression is not numeric
+     */
+    public NumberExpression asNumber() {
+        if (type != ValueType.NUMBER) throw new ExpressionException("Expected a number but the expression is " + type);
+        return number;
+    }
+
+    /**
+     * Retrieves the boolean form of the expression.
+     *
+     * @return The compiled boolean expression
+     * @throws ExpressionException If the expression is not boolean
+     */
+    public BooleanExpression asBoolean() {
+        if (type != ValueType.BOOLEAN) throw new ExpressionException("Expected a condition but the expression is " + type);
+        return bool;
+    }
+
+    /**
+     * Retrieves the text form of the expression, numbers and booleans are converted.
+     *
+     * @return The compiled text expression
+     */
+    public StringExpression asString() {
+        return switch (type) {
+            case STRING -> string;
+            case NUMBER -> {
+                NumberExpression number = this.number;
+                yield context -> format(number.evaluate(context));
+            }
+            case BOOLEAN -> {
+                BooleanExpression bool = this.bool;
+                yield context -> String.valueOf(bool.evaluate(context));
+            }
+        };
+    }
+
+    public double evaluateNumber(ExpressionContext context) {
+        return asNumber().evaluate(context);
+    }
+
+    public boolean evaluateBoolean(ExpressionContext context) {
+        return asBoolean().evaluate(context);
+    }
+
+    public String evaluateString(ExpressionContext context) {
+        return asString().evaluate(context);
+    }
+
+    static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+}
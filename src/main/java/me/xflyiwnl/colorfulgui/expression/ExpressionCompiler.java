@@ -0,0 +1,392 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive descent parser that builds the lambdas of an {@link Expression} while parsing.
+ */
+final class ExpressionCompiler {
+
+    private final String source;
+    private int position = 0;
+
+    ExpressionCompiler(String source) {
+        this.source = source;
+    }
+
+    Expression compile() {
+        Expression expression = ternary();
+        skipWhitespace();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return expression;
+    }
+
+    private Expression ternary() {
+        Expression condition = or();
+        if (!accept("?")) return condition;
+        Expression whenTrue = ternary();
+        expect(":");
+        Expression whenFalse = ternary();
+
+        BooleanExpression test = bool(condition);
+        boolean constant = condition.isConstant() && whenTrue.isConstant() && whenFalse.isConstant();
+        if (condition.isConstant()) {
+            return test.evaluate(null) ? whenTrue : whenFalse;
+        }
+        if (whenTrue.getType() == ValueType.NUMBER && whenFalse.getType() == ValueType.NUMBER) {
+            NumberExpression a = whenTrue.asNumber();
+            NumberExpression b = whenFalse.asNumber();
+            return Expression.ofNumber(context -> test.evaluate(context) ? a.evaluate(context) : b.evaluate(context), constant);
+        }
+        if (whenTrue.getType() == ValueType.BOOLEAN && whenFalse.getType() == ValueType.BOOLEAN) {
+            BooleanExpression a = whenTrue.asBoolean();
+            BooleanExpression b = whenFalse.asBoolean();
+            return Expression.ofBoolean(context -> test.evaluate(context) ? a.evaluate(context) : b.evaluate(context), constant);
+        }
+        StringExpression a = whenTrue.asString();
+        StringExpression b = whenFalse.asString();
+        return Expression.ofString(context -> test.evaluate(context) ? a.evaluate(context) : b.evaluate(context), constant);
+    }
+
+    private Expression or() {
+        Expression left = and();
+        while (accept("||")) {
+            Expression right = and();
+            BooleanExpression a = bool(left);
+            BooleanExpression b = bool(right);
+            left = Expression.ofBoolean(context -> a.evaluate(context) || b.evaluate(context), left.isConstant() && right.isConstant());
+        }
+        return left;
+    }
+
+    private Expression and() {
+        Expression left = equality();
+        while (accept("&&")) {
+            Expression right = equality();
+            BooleanExpression a = bool(left);
+            BooleanExpression b = bool(right);
+            left = Expression.ofBoolean(context -> a.evaluate(context) && b.evaluate(context), left.isConstant() && right.isConstant());
+        }
+        return left;
+    }
+
+    private Expression equality() {
+        Expression left = comparison();
+        while (true) {
+            boolean equal;
+            if (accept("==")) {
+                equal = true;
+            } else if (accept("!=")) {
+                equal = false;
+            } else {
+                return left;
+            }
+            Expression right = comparison();
+            boolean constant = left.isConstant() && right.isConstant();
+            BooleanExpression test;
+            if (left.getType() == ValueType.NUMBER && right.getType() == ValueType.NUMBER) {
+                NumberExpression a = left.asNumber();
+                NumberExpression b = right.asNumber();
+                test = context -> a.evaluate(context) == b.evaluate(context);
+            } else if (left.getType() == ValueType.BOOLEAN && right.getType() == ValueType.BOOLEAN) {
+                BooleanExpression a = left.asBoolean();
+                BooleanExpression b = right.asBoolean();
+                test = context -> a.evaluate(context) == b.evaluate(context);
+            } else if (left.getType() == ValueType.STRING && right.getType() == ValueType.STRING) {
+                StringExpression a = left.asString();
+                StringExpression b = right.asString();
+                test = context -> a.evaluate(context).equals(b.evaluate(context));
+            } else {
+                throw error("Cannot compare " + left.getType() + " with " + right.getType());
+            }
+            if (equal) {
+                left = Expression.ofBoolean(test, constant);
+            } else {
+                BooleanExpression positive = test;
+                left = Expression.ofBoolean(context -> !positive.evaluate(context), constant);
+            }
+        }
+    }
+
+    private Expression comparison() {
+        Expression left = additive();
+        while (true) {
+            String operator;
+            if (accept("<=")) operator = "<=";
+            else if (accept(">=")) operator = ">=";
+            else if (accept("<")) operator = "<";
+            else if (accept(">")) operator = ">";
+            else return left;
+
+            Expression right = additive();
+            NumberExpression a = number(left, operator);
+            NumberExpression b = number(right, operator);
+            boolean constant = left.isConstant() && right.isConstant();
+            left = switch (operator) {
+                case "<=" -> Expression.ofBoolean(context -> a.evaluate(context) <= b.evaluate(context), constant);
+                case ">=" -> Expression.ofBoolean(context -> a.evaluate(context) >= b.evaluate(context), constant);
+                case "<" -> Expression.ofBoolean(context -> a.evaluate(context) < b.evaluate(context), constant);
+                default -> Expression.ofBoolean(context -> a.evaluate(context) > b.evaluate(context), constant);
+            };
+        }
+    }
+
+    private Expression additive() {
+        Expression left = multiplicative();
+        while (true) {
+            boolean plus;
+            if (accept("+")) plus = true;
+            else if (accept("-")) plus = false;
+            else return left;
+
+            Expression right = multiplicative();
+            boolean constant = left.isConstant() && right.isConstant();
+            if (plus && (left.getType() == ValueType.STRING || right.getType() == ValueType.STRING)) {
+                StringExpression a = left.asString();
+                StringExpression b = right.asString();
+                left = Expression.ofString(context -> a.evaluate(context).concat(b.evaluate(context)), constant);
+                continue;
+            }
+            NumberExpression a = number(left, plus ? "+" : "-");
+            NumberExpression b = number(right, plus ? "+" : "-");
+            left = plus
+                    ? Expression.ofNumber(context -> a.evaluate(context) + b.evaluate(context), constant)
+                    : Expression.ofNumber(context -> a.evaluate(context) - b.evaluate(context), constant);
+        }
+    }
+
+    private Expression multiplicative() {
+        Expression left = unary();
+        while (true) {
+            char operator;
+            if (accept("*")) operator = '*';
+            else if (accept("/")) operator = '/';
+            else if (accept("%")) operator = '%';
+            else return left;
+
+            Expression right = unary();
+            NumberExpression a = number(left, String.valueOf(operator));
+            NumberExpression b = number(right, String.valueOf(operator));
+            boolean constant = left.isConstant() && right.isConstant();
+            left = switch (operator) {
+                case '*' -> Expression.ofNumber(context -> a.evaluate(context) * b.evaluate(context), constant);
+                case '/' -> Expression.ofNumber(context -> a.evaluate(context) / b.evaluate(context), constant);
+                default -> Expression.ofNumber(context -> a.evaluate(context) % b.evaluate(context), constant);
+            };
+        }
+    }
+
+    private Expression unary() {
+        if (accept("!")) {
+            Expression operand = unary();
+            BooleanExpression a = bool(operand);
+            return Expression.ofBoolean(context -> !a.evaluate(context), operand.isConstant());
+        }
+        if (accept("-")) {
+            Expression operand = unary();
+            NumberExpression a = number(operand, "-");
+            return Expression.ofNumber(context -> -a.evaluate(context), operand.isConstant());
+        }
+        return primary();
+    }
+
+    private Expression primary() {
+        skipWhitespace();
+        if (position >= source.length()) throw error("Unexpected end of expression");
+        char c = source.charAt(position);
+
+        if (c == '(') {
+            position++;
+            Expression inner = ternary();
+            expect(")");
+            return inner;
+        }
+        if (c == '\'' || c == '"') {
+            return Expression.constant(string(c));
+        }
+        if (Character.isDigit(c) || c == '.') {
+            int start = position;
+            while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return Expression.constant(Double.parseDouble(source.substring(start, position)));
+            } catch (NumberFormatException e) {
+                throw error("Invalid number " + source.substring(start, position));
+            }
+        }
+        if (Character.isLetter(c) || c == '_') {
+            int start = position;
+            while (position < source.length()) {
+                char next = source.charAt(position);
+                if (!Character.isLetterOrDigit(next) && next != '_' && next != '.') break;
+                position++;
+            }
+            String name = source.substring(start, position);
+            if (accept("(")) {
+                return function(name, arguments());
+            }
+            return switch (name) {
+                case "true" -> Expression.constant(true);
+                case "false" -> Expression.constant(false);
+                default -> variable(name, start);
+            };
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private Expression variable(String name, int start) {
+        Variable variable = Variables.get(name);
+        if (variable == null) {
+            position = start;
+            throw error("Unknown variable " + name);
+        }
+        return switch (variable.getType()) {
+            case NUMBER -> Expression.ofNumber(context -> context.number(variable), false);
+            case BOOLEAN -> Expression.ofBoolean(context -> context.bool(variable), false);
+            case STRING -> Expression.ofString(context -> context.string(variable), false);
+        };
+    }
+
+    private List<Expression> arguments() {
+        List<Expression> arguments = new ArrayList<>();
+        if (accept(")")) return arguments;
+        do {
+            arguments.add(ternary());
+        } while (accept(","));
+        expect(")");
+        return arguments;
+    }
+
+    private Expression function(String name, List<Expression> arguments) {
+        boolean constant = arguments.stream().allMatch(Expression::isConstant);
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "min", "max" -> {
+                arity(name, arguments, 2);
+                NumberExpression a = number(arguments.get(0), name);
+                NumberExpression b = number(arguments.get(1), name);
+                return name.equalsIgnoreCase("min")
+                        ? Expression.ofNumber(context -> Math.min(a.evaluate(context), b.evaluate(context)), constant)
+                        : Expression.ofNumber(context -> Math.max(a.evaluate(context), b.evaluate(context)), constant);
+            }
+            case "abs" -> {
+                arity(name, arguments, 1);
+                NumberExpression a = number(arguments.get(0), name);
+                return Expression.ofNumber(context -> Math.abs(a.evaluate(context)), constant);
+            }
+            case "round" -> {
+                arity(name, arguments, 1);
+                NumberExpression a = number(arguments.get(0), name);
+                return Expression.ofNumber(context -> Math.round(a.evaluate(context)), constant);
+            }
+            case "floor" -> {
+                arity(name, arguments, 1);
+                NumberExpression a = number(arguments.get(0), name);
+                return Expression.ofNumber(context -> Math.floor(a.evaluate(context)), constant);
+            }
+            case "ceil" -> {
+                arity(name, arguments, 1);
+                NumberExpression a = number(arguments.get(0), name);
+                return Expression.ofNumber(context -> Math.ceil(a.evaluate(context)), constant);
+            }
+            case "format", "currency" -> {
+                boolean currency = name.equalsIgnoreCase("currency");
+                arity(name, arguments, currency ? 1 : 2);
+                NumberExpression a = number(arguments.get(0), name);
+                String pattern = "#,##0.00";
+                if (!currency) {
+                    Expression patternArgument = arguments.get(1);
+                    if (!patternArgument.isConstant() || patternArgument.getType() != ValueType.STRING) {
+                        throw error("The pattern of format must be a constant text");
+                    }
+                    pattern = patternArgument.evaluateString(null);
+                }
+                // validated once here; DecimalFormat is not thread-safe and on Folia GUIs render on several
+                // region threads, so every thread formats with its own copy
+                DecimalFormat prototype;
+                try {
+                    prototype = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw error("Invalid number pattern '" + pattern + "'");
+                }
+                ThreadLocal<DecimalFormat> format = ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+                return Expression.ofString(context -> format.get().format(a.evaluate(context)), constant);
+            }
+            case "upper", "lower" -> {
+                arity(name, arguments, 1);
+                StringExpression a = arguments.get(0).asString();
+                return name.equalsIgnoreCase("upper")
+                        ? Expression.ofString(context -> a.evaluate(context).toUpperCase(Locale.ROOT), constant)
+                        : Expression.ofString(context -> a.evaluate(context).toLowerCase(Locale.ROOT), constant);
+            }
+            default -> throw error("Unknown function " + name);
+        }
+    }
+
+    private void arity(String name, List<Expression> arguments, int count) {
+        if (arguments.size() != count) {
+            throw error(name + " takes " + count + " argument" + (count == 1 ? "" : "s") + " but got " + arguments.size());
+        }
+    }
+
+    private NumberExpression number(Expression expression, String operator) {
+        if (expression.getType() != ValueType.NUMBER) {
+            throw error("'" + operator + "' needs a number but got " + expression.getType());
+        }
+        return expression.asNumber();
+    }
+
+    private BooleanExpression bool(Expression expression) {
+        if (expression.getType() != ValueType.BOOLEAN) {
+            throw error("Expected a condition but got " + expression.getType());
+        }
+        return expression.asBoolean();
+    }
+
+    private String string(char quote) {
+        StringBuilder builder = new StringBuilder();
+        position++;
+        while (position < source.length()) {
+            char c = source.charAt(position++);
+            if (c == quote) return builder.toString();
+            if (c == '\\' && position < source.length()) c = source.charAt(position++);
+            builder.append(c);
+        }
+        throw error("Unterminated text");
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (!source.startsWith(token, position)) return false;
+        // '<' must not swallow the first half of '<=', '!' not of '!=', and so on
+        if (token.length() == 1 && position + 1 < source.length()) {
+            char next = source.charAt(position + 1);
+            char c = token.charAt(0);
+            if ((c == '<' || c == '>' || c == '!' || c == '=') && next == '=') return false;
+            if ((c == '&' || c == '|') && next == c) return false;
+        }
+        position += token.length();
+        return true;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) throw error("Expected '" + token + "'");
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " at position " + (position + 1) + " of '" + source + "'");
+    }
+
+}
@@ -0,0 +1,88 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Variable values of one viewer.
+ * Values are resolved on first use and cached until {@link #reset()}, which only bumps a generation
+ * counter, so a context can be reused for every update of a GUI without allocating.
+ */
+public final class ExpressionContext {
+
+    private final Player player;
+
+    private double[] numbers;
+    private boolean[] booleans;
+    private String[] strings;
+    // generation each value was resolved in
+    private int[] resolved;
+    private int generation = 1;
+
+    /**
+     * Creates a context for a viewer.
+     *
+     * @param player The viewer the variables are resolved for
+     **/
+    public ExpressionContext(Player player) {
+        this.player = player;
+        int size = Math.max(8, Variables.count());
+        this.numbers = new double[size];
+        this.booleans = new boolean[size];
+        this.strings = new String[size];
+        this.resolved = new int[size];
+    }
+
+    /**
+     * Forgets the resolved values, they are resolved again on next use.
+     **/
+    public void reset() {
+        generation++;
+    }
+
+    double number(Variable variable) {
+        int index = slot(variable);
+        if (resolved[index] != generation) {
+            numbers[index] = variable.resolveNumber(player);
+            resolved[index] = generation;
+        }
+        return numbers[index];
+    }
+
+    boolean bool(Variable variable) {
+        int index = slot(variable);
+        if (resolved[index] != generation) {
+            booleans[index] = variable.resolveBoolean(player);
+            resolved[index] = generation;
+        }
+        return booleans[index];
+    }
+
+    String string(Variable variable) {
+        int index = slot(variable);
+        if (resolved[index] != generation) {
+            strings[index] = variable.resolveString(player);
+            resolved[index] = generation;
+        }
+        return strings[index];
+    }
+
+    private int slot(Variable variable) {
+        int index = variable.getIndex();
+        if (index >= resolved.length) {
+            // a variable was registered after the context was created
+            int size = Math.max(index + 1, resolved.length * 2);
+            numbers = Arrays.copyOf(numbers, size);
+            booleans = Arrays.copyOf(booleans, size);
+            strings = Arrays.copyOf(strings, size);
+            resolved = Arrays.copyOf(resolved, size);
+        }
+        return index;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+}
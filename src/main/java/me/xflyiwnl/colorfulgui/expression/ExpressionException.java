@@ -0,0 +1,12 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Thrown when an expression cannot be compiled, the message includes the position of the error.
+ */
+public class ExpressionException extends IllegalArgumentException {
+
+    public ExpressionException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,11 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Compiled expression with a numeric result, evaluated without allocating.
+ */
+@FunctionalInterface
+public interface NumberExpression {
+
+    double evaluate(ExpressionContext context);
+
+}
@@ -0,0 +1,11 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Compiled expression with a text result.
+ */
+@FunctionalInterface
+public interface StringExpression {
+
+    String evaluate(ExpressionContext context);
+
+}
@@ -0,0 +1,127 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text with {@code ${expression}} placeholders, for example {@code "&7Balance: &a${currency(balance)}"}.
+ * Literal parts are colorized once when the template is compiled, a gradient can therefore not span a placeholder.
+ * A template without variables is rendered once and returns the same string every time.
+ */
+public final class TextTemplate {
+
+    private final String source;
+    private final StringExpression[] parts;
+    // rendered text when the template does not depend on variables
+    private final String constant;
+
+    private TextTemplate(String source, StringExpression[] parts, String constant) {
+        this.source = source;
+        this.parts = parts;
+        this.constant = constant;
+    }
+
+    /**
+     * Compiles a text.
+     *
+     * @param text The text with placeholders
+     * @return The compiled template
+     * @throws ExpressionException If a placeholder is not valid or not closed
+     */
+    public static TextTemplate compile(String text) {
+        List<StringExpression> parts = new ArrayList<>();
+        boolean constant = true;
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf("${", position);
+            if (open < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+            literal.append(text, position, open);
+            int close = closingBrace(text, open + 2);
+            if (close < 0) throw new ExpressionException("Unclosed placeholder at position " + (open + 1) + " of '" + text + "'");
+
+            Expression expression = Expression.compile(text.substring(open + 2, close));
+            if (expression.isConstant()) {
+                literal.append(expression.evaluateString(null));
+            } else {
+                if (!literal.isEmpty()) {
+                    String colored = ColorUtils.colorize(literal.toString());
+                    parts.add(context -> colored);
+                    literal.setLength(0);
+                }
+                parts.add(expression.asString());
+                constant = false;
+            }
+            position = close + 1;
+        }
+        if (!literal.isEmpty()) {
+            String colored = ColorUtils.colorize(literal.toString());
+            parts.add(context -> colored);
+        }
+
+        StringExpression[] array = parts.toArray(new StringExpression[0]);
+        String rendered = constant ? (array.length == 0 ? "" : array[0].evaluate(null)) : null;
+        return new TextTemplate(text, array, rendered);
+    }
+
+    // finds the '}' closing a placeholder, braces inside quoted text are skipped
+    private static int closingBrace(String text, int from) {
+        char quote = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '}') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a text contains placeholders, texts without them do not need to be compiled.
+     *
+     * @param text The text to check
+     * @return True if the text contains {@code ${}
+     */
+    public static boolean hasPlaceholders(String text) {
+        return text != null && text.contains("${");
+    }
+
+    /**
+     * Renders the text for a viewer.
+     *
+     * @param context The values of the viewer, may be null if the template is constant
+     * @return The colorized text
+     */
+    public String render(ExpressionContext context) {
+        if (constant != null) return constant;
+        StringBuilder builder = new StringBuilder();
+        for (StringExpression part : parts) {
+            builder.append(part.evaluate(context));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Checks if the template does not depend on variables.
+     *
+     * @return True if {@link #render(ExpressionContext)} always returns the same text
+     */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+}
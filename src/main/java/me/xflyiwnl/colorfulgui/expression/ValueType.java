@@ -0,0 +1,10 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+/**
+ * Static type of an expression or variable, known when the expression is compiled.
+ */
+public enum ValueType {
+    NUMBER,
+    BOOLEAN,
+    STRING
+}
@@ -0,0 +1,61 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+import org.bukkit.entity.Player;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Typed variable resolved per viewer, registered in {@link Variables}.
+ * Each variable has a fixed index into the value arrays of an {@link ExpressionContext}.
+ */
+public final class Variable {
+
+    private final String name;
+    private final ValueType type;
+    private final int index;
+
+    // only the resolver of the variable's type is set; replaced when the variable is registered again
+    private volatile ToDoubleFunction<Player> number;
+    private volatile Predicate<Player> bool;
+    private volatile Function<Player, String> string;
+
+    Variable(String name, ValueType type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    void setResolvers(ToDoubleFunction<Player> number, Predicate<Player> bool, Function<Player, String> string) {
+        this.number = number;
+        this.bool = bool;
+        this.string = string;
+    }
+
+    double resolveNumber(Player player) {
+        return number.applyAsDouble(player);
+    }
+
+    boolean resolveBoolean(Player player) {
+        return bool.test(player);
+    }
+
+    String resolveString(Player player) {
+        String value = string.apply(player);
+        return value == null ? "" : value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ValueType getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+}
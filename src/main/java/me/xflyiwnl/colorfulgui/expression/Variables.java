@@ -0,0 +1,96 @@
+package me.xflyiwnl.colorfulgui.expression;
+
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Registry of the variables expressions may use.
+ * Variables are typed, so a wrong comparison such as {@code name > 5} is an error when the expression
+ * is compiled, not when it runs. Resolvers are called at most once per variable and viewer between two
+ * {@link ExpressionContext#reset()}s; registering a variable again replaces its resolver for compiled
+ * expressions too.
+ */
+public class Variables {
+
+    private static final Map<String, Variable> variables = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
+    static {
+        string("player.name", Player::getName);
+    }
+
+    private Variables() {
+    }
+
+    /**
+     * Registers a numeric variable.
+     *
+     * @param name     The name used in expressions, for example {@code balance}
+     * @param resolver Resolves the value for a viewer
+     **/
+    public static void number(String name, ToDoubleFunction<Player> resolver) {
+        register(name, ValueType.NUMBER).setResolvers(resolver, null, null);
+    }
+
+    /**
+     * Registers a boolean variable.
+     *
+     * @param name     The name used in expressions
+     * @param resolver Resolves the value for a viewer
+     **/
+    public static void bool(String name, Predicate<Player> resolver) {
+        register(name, ValueType.BOOLEAN).setResolvers(null, resolver, null);
+    }
+
+    /**
+     * Registers a text variable.
+     *
+     * @param name     The name used in expressions
+     * @param resolver Resolves the value for a viewer
+     **/
+    public static void string(String name, Function<Player, String> resolver) {
+        register(name, ValueType.STRING).setResolvers(null, null, resolver);
+    }
+
+    /**
+     * Retrieves a variable.
+     *
+     * @param name The name of the variable
+     * @return The variable, or null if none is registered
+     **/
+    public static Variable get(String name) {
+        return variables.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Retrieves the registered variables.
+     *
+     * @return An unmodifiable view of the variables
+     **/
+    public static Collection<Variable> getVariables() {
+        return Collections.unmodifiableCollection(variables.values());
+    }
+
+    static int count() {
+        return nextIndex.get();
+    }
+
+    private static Variable register(String name, ValueType type) {
+        Variable variable = variables.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                key -> new Variable(key, type, nextIndex.getAndIncrement()));
+        if (variable.getType() != type) {
+            throw new IllegalArgumentException("Variable " + name + " is already registered as " + variable.getType());
+        }
+        return variable;
+    }
+
+}
@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for dispatch of an inventory click to the provider and the clicked item.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.Click#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.Click")
+@Label("GUI Click Dispatch")
+@Description("Dispatch of an inventory click to the provider and the clicked item")
+public class GuiClickEvent extends GuiEvent {
+
+    @Label("Slot")
+    @Description("The clicked raw slot")
+    public int slot;
+
+}
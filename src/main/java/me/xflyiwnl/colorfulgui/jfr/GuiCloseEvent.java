@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for closing of a GUI inventory.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.Close#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.Close")
+@Label("GUI Close")
+@Description("Closing of a GUI inventory")
+public class GuiCloseEvent extends GuiEvent {
+
+    @Label("Slots")
+    @Description("Size of the GUI inventory")
+    public int slots;
+
+}
@@ -0,0 +1,44 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import me.xflyiwnl.colorfulgui.object.Gui;
+
+/**
+ * Base of the ColorfulGUI Flight Recorder events.
+ * All events are disabled by default, so a disabled event costs a couple of
+ * no-op calls that the JIT removes together with the event allocation.
+ * Fields should only be filled after {@link #shouldCommit()} returned true.
+ */
+@Category("ColorfulGUI")
+@Enabled(false)
+@StackTrace(false)
+public abstract class GuiEvent extends Event {
+
+    @Label("Provider")
+    @Description("The provider class of the GUI")
+    public Class<?> provider;
+
+    @Label("Viewers")
+    @Description("Number of players viewing the GUI")
+    public int viewers;
+
+    /**
+     * Fills the provider and viewer fields from the GUI.
+     *
+     * @param gui The GUI the event belongs to
+     **/
+    public void setGui(Gui gui) {
+        if (gui.getHolder() != null) {
+            provider = gui.getHolder().getClass();
+        }
+        if (gui.getInventory() != null) {
+            viewers = gui.getInventory().getViewers().size();
+        }
+    }
+
+}
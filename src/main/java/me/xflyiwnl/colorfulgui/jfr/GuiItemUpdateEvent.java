@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for an update handler of a dynamic item.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.ItemUpdate#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.ItemUpdate")
+@Label("GUI Item Update")
+@Description("An update handler of a dynamic item")
+public class GuiItemUpdateEvent extends GuiEvent {
+
+    @Label("Slot")
+    @Description("Slot of the item, or -1 if it is not shown")
+    public int slot;
+
+}
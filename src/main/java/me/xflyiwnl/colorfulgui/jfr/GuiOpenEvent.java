@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for opening of a GUI inventory.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.Open#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.Open")
+@Label("GUI Open")
+@Description("Opening of a GUI inventory")
+public class GuiOpenEvent extends GuiEvent {
+
+    @Label("Slots")
+    @Description("Size of the GUI inventory")
+    public int slots;
+
+}
@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a full render of a GUI inventory.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.Render#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.Render")
+@Label("GUI Render")
+@Description("A full render of a GUI inventory")
+public class GuiRenderEvent extends GuiEvent {
+
+    @Label("Slots Written")
+    @Description("Number of slots written by the render")
+    public int slots;
+
+}
@@ -0,0 +1,20 @@
+package me.xflyiwnl.colorfulgui.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for re-creation of a GUI inventory with a new title.
+ * Enable it in a recording with {@code me.xflyiwnl.colorfulgui.TitleUpdate#enabled=true}.
+ */
+@Name("me.xflyiwnl.colorfulgui.TitleUpdate")
+@Label("GUI Title Update")
+@Description("Re-creation of a GUI inventory with a new title")
+public class GuiTitleUpdateEvent extends GuiEvent {
+
+    @Label("Slots")
+    @Description("Size of the GUI inventory")
+    public int slots;
+
+}
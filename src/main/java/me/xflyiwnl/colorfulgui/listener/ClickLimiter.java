@@ -0,0 +1,103 @@
+package me.xflyiwnl.colorfulgui.listener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player token bucket for clicks in ColorfulGUI inventories.
+ * Every player may click {@link #getBurst()} times in a row, then the bucket
+ * refills at {@link #getRate()} clicks per second. Clicks over the limit are
+ * cancelled by {@link GuiListener} before any item lookup or user code runs.
+ * The limiter is off until a rate is set.
+ */
+public class ClickLimiter {
+
+    private static volatile double rate = 0;
+    private static volatile double burst = 0;
+
+    // player -> bucket
+    private static final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private ClickLimiter() {
+    }
+
+    /**
+     * Takes a token from the bucket of a player.
+     *
+     * @param player The unique id of the clicking player
+     * @return True if the click is allowed, false if it must be cancelled
+     **/
+    public static boolean tryAcquire(UUID player) {
+        if (rate <= 0) return true;
+        return buckets.computeIfAbsent(player, uuid -> new Bucket(burst)).tryAcquire(rate, burst, System.nanoTime());
+    }
+
+    /**
+     * Forgets the bucket of a player, called when the player quits.
+     *
+     * @param player The unique id of the player
+     **/
+    public static void remove(UUID player) {
+        buckets.remove(player);
+    }
+
+    /**
+     * Sets the click limit. A rate of 0 or less disables the limiter.
+     *
+     * @param rate  The sustained clicks per second
+     * @param burst The number of clicks allowed in a row
+     **/
+    public static void setLimit(double rate, int burst) {
+        ClickLimiter.rate = rate;
+        ClickLimiter.burst = Math.max(1, burst);
+        buckets.clear();
+    }
+
+    /**
+     * Disables the limiter.
+     **/
+    public static void disable() {
+        rate = 0;
+        buckets.clear();
+    }
+
+    /**
+     * Checks if the limiter is enabled.
+     *
+     * @return True if a rate is set
+     **/
+    public static boolean isEnabled() {
+        return rate > 0;
+    }
+
+    public static double getRate() {
+        return rate;
+    }
+
+    public static double getBurst() {
+        return burst;
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long last = System.nanoTime();
+
+        private Bucket(double tokens) {
+            this.tokens = tokens;
+        }
+
+        private synchronized boolean tryAcquire(double rate, double burst, long now) {
+            tokens = Math.min(burst, tokens + (now - last) * rate / 1_000_000_000.0);
+            last = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package me.xflyiwnl.colorfulgui.listener;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Index of every {@link Inventory} created by ColorfulGUI, mapped to its holder.
+ * {@link GuiListener} resolves the holder of an event's inventory with one map probe,
+ * so inventories of other plugins and blocks are rejected without calling
+ * {@link Inventory#getHolder()}, which builds a block state snapshot on Paper.
+ * Both sides are weak: an entry disappears with its inventory and never keeps a GUI alive.
+ */
+public class GuiInventories {
+
+    // inventory -> holder; keys use the inventory's equals, which also matches other wrappers of the same container
+    private static final Map<Inventory, WeakReference<InventoryHolder>> holders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private GuiInventories() {
+    }
+
+    /**
+     * Registers an inventory created by ColorfulGUI.
+     *
+     * @param inventory The inventory
+     * @param holder    The holder of the inventory
+     **/
+    public static void register(Inventory inventory, InventoryHolder holder) {
+        if (inventory == null || holder == null) return;
+        holders.put(inventory, new WeakReference<>(holder));
+    }
+
+    /**
+     * Forgets an inventory.
+     *
+     * @param inventory The inventory
+     **/
+    public static void unregister(Inventory inventory) {
+        if (inventory == null) return;
+        holders.remove(inventory);
+    }
+
+    /**
+     * Resolves the holder of an inventory created by ColorfulGUI.
+     *
+     * @param inventory The inventory of an event
+     * @return The holder, or null if the inventory was not created by ColorfulGUI
+     **/
+    public static InventoryHolder getHolder(Inventory inventory) {
+        if (inventory == null) return null;
+        WeakReference<InventoryHolder> reference = holders.get(inventory);
+        return reference != null ? reference.get() : null;
+    }
+
+    /**
+     * Retrieves the number of registered inventories.
+     *
+     * @return The number of inventories not collected yet
+     **/
+    public static int size() {
+        return holders.size();
+    }
+
+}
@@ -1,8 +1,20 @@
 package me.xflyiwnl.colorfulgui.listener;
 
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.debug.HandlerWatchdog;
+import me.xflyiwnl.colorfulgui.debug.HeatmapOverlay;
+import me.xflyiwnl.colorfulgui.jfr.GuiClickEvent;
+import me.xflyiwnl.colorfulgui.jfr.GuiCloseEvent;
+import me.xflyiwnl.colorfulgui.jfr.GuiOpenEvent;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import me.xflyiwnl.colorfulgui.object.event.click.ClickAsyncItemEvent;
 import me.xflyiwnl.colorfulgui.object.event.click.ClickDynamicItemEvent;
 import me.xflyiwnl.colorfulgui.object.event.click.ClickStaticItemEvent;
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.session.SessionStore;
+import me.xflyiwnl.colorfulgui.task.AnimationTask;
+import me.xflyiwnl.colorfulgui.task.AsyncActionExecutor;
+import me.xflyiwnl.colorfulgui.task.GuiWarmup;
 import me.xflyiwnl.colorfulgui.ColorfulGUI;
 import me.xflyiwnl.colorfulgui.object.DynamicItem;
 import me.xflyiwnl.colorfulgui.object.Gui;
@@ -15,9 +27,12 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
@@ -46,60 +61,152 @@ public class GuiListener implements Listener {
         }
 
 
-        InventoryHolder holder = inventory.getHolder();
+        InventoryHolder holder = GuiInventories.getHolder(inventory);
         if (holder == null) {
             return;
         }
 
+        if (holder instanceof HeatmapOverlay) {
+            event.setCancelled(true);
+            return;
+        }
+
         if (!(holder instanceof ColorfulProvider)) {
             return;
         }
 
+        if (!ClickLimiter.tryAcquire(event.getWhoClicked().getUniqueId())) {
+            event.setCancelled(true);
+            GuiMetrics.recordRateLimited();
+            return;
+        }
+
         ColorfulProvider<Gui> provider = (ColorfulProvider<Gui>) holder;
+        GuiClickEvent jfrEvent = new GuiClickEvent();
+        jfrEvent.begin();
+        long start = GuiMetrics.start();
         provider.onClick(event);
 
         if (itemStack != null) {
+            dispatchItemClick(provider, event, itemStack);
+        }
+        GuiMetrics.recordClick(start);
 
-            PersistentDataContainer container = itemStack.getItemMeta().getPersistentDataContainer();
-            NamespacedKey key = new NamespacedKey(ColorfulGUI.getInstance(), "colorfulgui");
-            if (!container.has(key, PersistentDataType.STRING)) {
-                return;
-            }
-            UUID uuid = UUID.fromString(container.get(key, PersistentDataType.STRING).toString());
-            GuiItem item = provider.getGui().getItem(uuid);
-            if (item == null) {
-                return;
-            }
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.setGui(provider.getGui());
+            jfrEvent.slot = event.getRawSlot();
+            jfrEvent.commit();
+        }
+
+    }
+
+    /**
+     * Resolves the clicked {@link GuiItem} and executes its action.
+     *
+     * @param provider  The provider of the clicked inventory
+     * @param event     The inventory click event
+     * @param itemStack The clicked item stack
+     */
+    private void dispatchItemClick(ColorfulProvider<Gui> provider, InventoryClickEvent event, ItemStack itemStack) {
+
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        NamespacedKey key = new NamespacedKey(ColorfulGUI.getInstance(), "colorfulgui");
+        if (!container.has(key, PersistentDataType.STRING)) {
+            return;
+        }
+        UUID uuid = UUID.fromString(container.get(key, PersistentDataType.STRING).toString());
+        GuiItem item = provider.getGui().getItem(uuid);
+        if (item == null) {
+            return;
+        }
+
+        if (!item.acceptClick(event.getWhoClicked().getUniqueId())) {
+            event.setCancelled(true);
+            GuiMetrics.recordSuppressed();
+            return;
+        }
+
+        // the lock is taken before the sync action, so a click can't run it while the async action is in flight
+        boolean async = item.getAsyncAction() != null;
+        if (async && !item.tryLock()) {
+            event.setCancelled(true);
+            GuiMetrics.recordSuppressed();
+            return;
+        }
+
+        try {
+            executeAction(provider, event, item);
+        } catch (RuntimeException | Error e) {
+            if (async) item.unlock();
+            throw e;
+        }
 
-            if (item.getAction() != null) {
-                if (item instanceof StaticItem) {
-                    StaticItem staticItem = (StaticItem) item;
-                    ClickStaticItemEvent clickEvent = new ClickStaticItemEvent(
-                            staticItem,
-                            event.getAction(),
-                            event.getClick(),
-                            event.getClickedInventory(),
-                            event.getCursor(),
-                            event.getSlot(),
-                            event.getSlotType());
+        if (async) {
+            ItemStack cursor = event.getCursor();
+            AsyncActionExecutor.execute(provider, new ClickAsyncItemEvent(
+                    item,
+                    event.getWhoClicked().getUniqueId(),
+                    event.getWhoClicked().getName(),
+                    event.getAction(),
+                    event.getClick(),
+                    cursor != null ? cursor.clone() : null,
+                    event.getSlot(),
+                    event.getRawSlot(),
+                    event.getSlotType()));
+        }
+
+    }
+
+    /**
+     * Executes the synchronous action of the clicked {@link GuiItem}.
+     *
+     * @param provider The provider of the clicked inventory
+     * @param event    The inventory click event
+     * @param item     The clicked item
+     */
+    private void executeAction(ColorfulProvider<Gui> provider, InventoryClickEvent event, GuiItem item) {
+
+        if (item.getAction() != null) {
+            if (item instanceof StaticItem) {
+                StaticItem staticItem = (StaticItem) item;
+                ClickStaticItemEvent clickEvent = new ClickStaticItemEvent(
+                        staticItem,
+                        event.getAction(),
+                        event.getClick(),
+                        event.getClickedInventory(),
+                        event.getCursor(),
+                        event.getSlot(),
+                        event.getSlotType());
+                HandlerWatchdog.Invocation invocation = HandlerWatchdog.begin(HandlerWatchdog.Kind.CLICK, provider, staticItem, event.getRawSlot(), staticItem.getAction());
+                try {
                     staticItem.getAction().execute(clickEvent);
+                } finally {
+                    HandlerWatchdog.end(invocation);
                 }
-                if (item instanceof DynamicItem) {
-                    DynamicItem dynamicItem = (DynamicItem) item;
-                    ClickDynamicItemEvent clickEvent = new ClickDynamicItemEvent(
-                            dynamicItem,
-                            event.getAction(),
-                            event.getClick(),
-                            event.getClickedInventory(),
-                            event.getCursor(),
-                            event.getSlot(),
-                            event.getSlotType());
+            }
+            if (item instanceof DynamicItem) {
+                DynamicItem dynamicItem = (DynamicItem) item;
+                ClickDynamicItemEvent clickEvent = new ClickDynamicItemEvent(
+                        dynamicItem,
+                        event.getAction(),
+                        event.getClick(),
+                        event.getClickedInventory(),
+                        event.getCursor(),
+                        event.getSlot(),
+                        event.getSlotType());
+                HandlerWatchdog.Invocation invocation = HandlerWatchdog.begin(HandlerWatchdog.Kind.CLICK, provider, dynamicItem, event.getRawSlot(), dynamicItem.getAction());
+                try {
                     dynamicItem.getAction().execute(clickEvent);
+                } finally {
+                    HandlerWatchdog.end(invocation);
                 }
             }
         }
 
-
     }
 
     /**
@@ -116,7 +223,7 @@ public class GuiListener implements Listener {
             return;
         }
 
-        InventoryHolder holder = inventory.getHolder();
+        InventoryHolder holder = GuiInventories.getHolder(inventory);
         if (holder == null) {
             return;
         }
@@ -126,13 +233,26 @@ public class GuiListener implements Listener {
         }
 
         ColorfulProvider<Gui> provider = (ColorfulProvider<Gui>) holder;
+        GuiOpenEvent jfrEvent = new GuiOpenEvent();
+        jfrEvent.begin();
+        GuiMetrics.recordOpen();
+        GuiRegistry.opened(provider);
 
         if (provider.getTask() != null) {
             provider.getTask().startTask();
         }
 
+        AnimationTask.register(provider.getGui());
+        provider.getGui().publishSnapshot();
+
         provider.onOpen(event);
 
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.setGui(provider.getGui());
+            jfrEvent.slots = inventory.getSize();
+            jfrEvent.commit();
+        }
+
     }
 
     /**
@@ -149,7 +269,7 @@ public class GuiListener implements Listener {
             return;
         }
 
-        InventoryHolder holder = inventory.getHolder();
+        InventoryHolder holder = GuiInventories.getHolder(inventory);
         if (holder == null) {
             return;
         }
@@ -159,11 +279,25 @@ public class GuiListener implements Listener {
         }
 
         ColorfulProvider<Gui> provider = (ColorfulProvider<Gui>) holder;
+        GuiCloseEvent jfrEvent = new GuiCloseEvent();
+        jfrEvent.begin();
+        GuiMetrics.recordClose();
+        GuiRegistry.closed(provider);
 
         if (provider.getTask() != null) {
             provider.getTask().cancel();
         }
+        if (inventory.getViewers().size() <= 1) {
+            AnimationTask.unregister(provider.getGui());
+        }
         provider.onClose(event);
+        SessionStore.save(provider);
+
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.setGui(provider.getGui());
+            jfrEvent.slots = inventory.getSize();
+            jfrEvent.commit();
+        }
 
     }
 
@@ -181,11 +315,16 @@ public class GuiListener implements Listener {
             return;
         }
 
-        InventoryHolder holder = inventory.getHolder();
+        InventoryHolder holder = GuiInventories.getHolder(inventory);
         if (holder == null) {
             return;
         }
 
+        if (holder instanceof HeatmapOverlay) {
+            event.setCancelled(true);
+            return;
+        }
+
         if (!(holder instanceof ColorfulProvider)) {
             return;
         }
@@ -196,4 +335,26 @@ public class GuiListener implements Listener {
 
     }
 
+    /**
+     * Handles player quit events.
+     * This method forgets the click rate limit state of the player.
+     *
+     * @param event The player quit event
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        ClickLimiter.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Holds logins until the GUI warm-up finished, if {@link GuiWarmup#setGateLogins(boolean)} is enabled.
+     * Runs on the login thread, so waiting does not block the main thread running the warm-up.
+     *
+     * @param event The async pre-login event
+     */
+    @EventHandler
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        GuiWarmup.awaitLogin();
+    }
+
 }
@@ -0,0 +1,77 @@
+package me.xflyiwnl.colorfulgui.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters of a named cache.
+ * Obtain instances with {@link GuiMetrics#cache(String)}.
+ */
+public class CacheCounter {
+
+    // cache name
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates counters for the named cache.
+     *
+     * @param name The cache name
+     **/
+    public CacheCounter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts a cache hit.
+     **/
+    public void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Counts a cache miss.
+     **/
+    public void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Retrieves the cache name.
+     *
+     * @return The cache name
+     **/
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the number of hits.
+     *
+     * @return The number of hits
+     **/
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the number of misses.
+     *
+     * @return The number of misses
+     **/
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the ratio of hits to lookups.
+     *
+     * @return The hit ratio between 0 and 1, or 0 if nothing was looked up
+     **/
+    public double getHitRatio() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+}
@@ -0,0 +1,290 @@
+package me.xflyiwnl.colorfulgui.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics of ColorfulGUI.
+ * Timings are only taken while metrics are enabled; when disabled every
+ * hook costs a single volatile read. Open and close counters are always kept,
+ * so the number of live GUIs stays correct when metrics are toggled at runtime.
+ */
+public class GuiMetrics {
+
+    private static volatile boolean enabled = false;
+
+    // render duration, nanoseconds
+    private static final Histogram render = new Histogram();
+    // slots written per render
+    private static final Histogram renderSlots = new Histogram();
+    // click dispatch latency, nanoseconds
+    private static final Histogram click = new Histogram();
+
+    // slots written, renders and single item updates
+    private static final LongAdder slotWrites = new LongAdder();
+
+    private static final LongAdder opens = new LongAdder();
+    private static final LongAdder closes = new LongAdder();
+
+    // clicks cancelled by the per-player rate limit
+    private static final LongAdder rateLimited = new LongAdder();
+    // clicks ignored by an item cooldown or debounce
+    private static final LongAdder suppressed = new LongAdder();
+
+    // provider class -> metrics
+    private static final Map<Class<?>, ProviderMetrics> providers = new ConcurrentHashMap<>();
+    // cache name -> counters
+    private static final Map<String, CacheCounter> caches = new ConcurrentHashMap<>();
+
+    private GuiMetrics() {
+    }
+
+    /**
+     * Starts a timing if metrics are enabled.
+     *
+     * @return The start time in nanoseconds, or 0 if metrics are disabled
+     **/
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a finished render.
+     *
+     * @param start The value returned by {@link #start()}
+     * @param slots The number of slots written by the render
+     **/
+    public static void recordRender(long start, int slots) {
+        if (start == 0L || !enabled) return;
+        render.record(System.nanoTime() - start);
+        renderSlots.record(slots);
+    }
+
+    /**
+     * Counts a single slot write.
+     **/
+    public static void recordSlotWrite() {
+        if (!enabled) return;
+        slotWrites.increment();
+    }
+
+    /**
+     * Records a finished update handler invocation.
+     *
+     * @param provider The provider class the handler belongs to
+     * @param start    The value returned by {@link #start()}
+     **/
+    public static void recordUpdate(Class<?> provider, long start) {
+        if (start == 0L || !enabled) return;
+        getProvider(provider).getUpdate().record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records a finished click dispatch.
+     *
+     * @param start The value returned by {@link #start()}
+     **/
+    public static void recordClick(long start) {
+        if (start == 0L || !enabled) return;
+        click.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Counts an opened GUI.
+     **/
+    public static void recordOpen() {
+        opens.increment();
+    }
+
+    /**
+     * Counts a closed GUI.
+     **/
+    public static void recordClose() {
+        closes.increment();
+    }
+
+    /**
+     * Counts a click cancelled by the per-player rate limit.
+     **/
+    public static void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    /**
+     * Counts a click ignored by an item cooldown or debounce.
+     **/
+    public static void recordSuppressed() {
+        suppressed.increment();
+    }
+
+    /**
+     * Retrieves the metrics of a provider class, creating them if needed.
+     *
+     * @param provider The provider class
+     * @return The provider metrics
+     **/
+    public static ProviderMetrics getProvider(Class<?> provider) {
+        ProviderMetrics metrics = providers.get(provider);
+        if (metrics == null) {
+            metrics = providers.computeIfAbsent(provider, type -> new ProviderMetrics(type.getName()));
+        }
+        return metrics;
+    }
+
+    /**
+     * Retrieves the metrics of every provider class seen so far.
+     *
+     * @return The provider metrics
+     **/
+    public static Collection<ProviderMetrics> getProviders() {
+        return providers.values();
+    }
+
+    /**
+     * Retrieves the counters of a named cache, creating them if needed.
+     * Cache counters are always kept, they are two {@link LongAdder} increments per lookup.
+     *
+     * @param name The cache name
+     * @return The cache counters
+     **/
+    public static CacheCounter cache(String name) {
+        return caches.computeIfAbsent(name, CacheCounter::new);
+    }
+
+    /**
+     * Retrieves the counters of every registered cache.
+     *
+     * @return The cache counters
+     **/
+    public static Collection<CacheCounter> getCaches() {
+        return caches.values();
+    }
+
+    /**
+     * Retrieves the providers with the highest total update handler time.
+     *
+     * @param limit The maximum number of providers to return
+     * @return The slowest providers, slowest first
+     **/
+    public static List<ProviderMetrics> getSlowestProviders(int limit) {
+        List<ProviderMetrics> list = new ArrayList<>(providers.values());
+        list.sort(Comparator.comparingLong((ProviderMetrics metrics) -> metrics.getUpdate().getSum()).reversed());
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    /**
+     * Clears every timing. Open, close and throttle counters are kept.
+     **/
+    public static void reset() {
+        render.reset();
+        renderSlots.reset();
+        click.reset();
+        slotWrites.reset();
+        providers.clear();
+    }
+
+    /**
+     * Checks if metrics are enabled.
+     *
+     * @return True if timings are being recorded
+     **/
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables timings.
+     *
+     * @param enabled True to record timings
+     **/
+    public static void setEnabled(boolean enabled) {
+        GuiMetrics.enabled = enabled;
+    }
+
+    /**
+     * Retrieves the render duration histogram, in nanoseconds.
+     *
+     * @return The render duration histogram
+     **/
+    public static Histogram getRender() {
+        return render;
+    }
+
+    /**
+     * Retrieves the histogram of slots written per render.
+     *
+     * @return The slots per render histogram
+     **/
+    public static Histogram getRenderSlots() {
+        return renderSlots;
+    }
+
+    /**
+     * Retrieves the click dispatch latency histogram, in nanoseconds.
+     *
+     * @return The click dispatch histogram
+     **/
+    public static Histogram getClick() {
+        return click;
+    }
+
+    /**
+     * Retrieves the number of slots written while metrics were enabled.
+     *
+     * @return The slot write count
+     **/
+    public static long getSlotWrites() {
+        return slotWrites.sum();
+    }
+
+    /**
+     * Retrieves the number of opened GUIs since startup.
+     *
+     * @return The open count
+     **/
+    public static long getOpens() {
+        return opens.sum();
+    }
+
+    /**
+     * Retrieves the number of closed GUIs since startup.
+     *
+     * @return The close count
+     **/
+    public static long getCloses() {
+        return closes.sum();
+    }
+
+    /**
+     * Retrieves the number of GUIs currently open.
+     *
+     * @return The number of live GUIs
+     **/
+    public static long getLiveGuis() {
+        return Math.max(0, opens.sum() - closes.sum());
+    }
+
+    /**
+     * Retrieves the number of clicks cancelled by the per-player rate limit since startup.
+     *
+     * @return The rate limited click count
+     **/
+    public static long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * Retrieves the number of clicks ignored by item cooldowns and debounces since startup.
+     *
+     * @return The suppressed click count
+     **/
+    public static long getSuppressed() {
+        return suppressed.sum();
+    }
+
+}
@@ -0,0 +1,242 @@
+package me.xflyiwnl.colorfulgui.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.debug.GuiRegistry;
+import me.xflyiwnl.colorfulgui.task.GuiScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Exports {@link GuiMetrics} in the OpenMetrics text format.
+ * Metrics can be served by an embedded HTTP endpoint bound to localhost,
+ * or written periodically to a file for the node exporter textfile collector.
+ */
+public class OpenMetricsExporter {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private static HttpServer server;
+    private static ExecutorService serverExecutor;
+    private static GuiScheduler.Task textfileTask;
+
+    private OpenMetricsExporter() {
+    }
+
+    /**
+     * Renders every metric in the OpenMetrics text format.
+     *
+     * @return The exposition text, terminated by {@code # EOF}
+     **/
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(2048);
+
+        gauge(out, "colorfulgui_open_guis", "GUIs currently open", GuiMetrics.getLiveGuis());
+        gauge(out, "colorfulgui_live_providers", "Built providers not garbage collected yet", GuiRegistry.size());
+        counter(out, "colorfulgui_opens", "Opened GUIs", GuiMetrics.getOpens());
+        counter(out, "colorfulgui_closes", "Closed GUIs", GuiMetrics.getCloses());
+        counter(out, "colorfulgui_renders", "Full GUI renders", GuiMetrics.getRender().getCount());
+        counter(out, "colorfulgui_slot_writes", "Inventory slot writes", GuiMetrics.getSlotWrites());
+        counter(out, "colorfulgui_clicks_rate_limited", "Clicks cancelled by the per-player rate limit", GuiMetrics.getRateLimited());
+        counter(out, "colorfulgui_clicks_suppressed", "Clicks ignored by an item cooldown or debounce", GuiMetrics.getSuppressed());
+
+        summary(out, "colorfulgui_render_seconds", "Render duration", GuiMetrics.getRender(), null);
+        summary(out, "colorfulgui_click_seconds", "Click dispatch latency", GuiMetrics.getClick(), null);
+
+        header(out, "colorfulgui_update_seconds", "summary", "Update handler time per provider class");
+        unit(out, "colorfulgui_update_seconds", "seconds");
+        for (ProviderMetrics provider : GuiMetrics.getProviders()) {
+            summarySamples(out, "colorfulgui_update_seconds", provider.getUpdate(), "provider=\"" + escape(provider.getName()) + "\"");
+        }
+
+        header(out, "colorfulgui_cache_hits", "counter", "Cache hits");
+        for (CacheCounter cache : GuiMetrics.getCaches()) {
+            sample(out, "colorfulgui_cache_hits_total", "cache=\"" + escape(cache.getName()) + "\"", cache.getHits());
+        }
+        header(out, "colorfulgui_cache_misses", "counter", "Cache misses");
+        for (CacheCounter cache : GuiMetrics.getCaches()) {
+            sample(out, "colorfulgui_cache_misses_total", "cache=\"" + escape(cache.getName()) + "\"", cache.getMisses());
+        }
+        header(out, "colorfulgui_cache_hit_ratio", "gauge", "Ratio of cache lookups that were hits");
+        for (CacheCounter cache : GuiMetrics.getCaches()) {
+            sample(out, "colorfulgui_cache_hit_ratio", "cache=\"" + escape(cache.getName()) + "\"", cache.getHitRatio());
+        }
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    /**
+     * Serves {@link #scrape()} on {@code http://127.0.0.1:<port>/metrics}.
+     * Any previously started endpoint is stopped first.
+     *
+     * @param port The port to listen on, 0 picks a free port
+     * @return The port the endpoint is listening on
+     * @throws IOException if the port cannot be bound
+     **/
+    public static synchronized int startHttp(int port) throws IOException {
+        stopHttp();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try (exchange) {
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream stream = exchange.getResponseBody()) {
+                    stream.write(body);
+                }
+            }
+        });
+        serverExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ColorfulGUI-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        OpenMetricsExporter.server = server;
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Writes {@link #scrape()} to a file at a fixed interval, off the main thread.
+     * The file is replaced atomically, so a collector never reads a partial file.
+     *
+     * @param file   The target file, usually ending in {@code .prom}
+     * @param period The interval between writes, in ticks
+     **/
+    public static synchronized void startTextfile(Path file, long period) {
+        stopTextfile();
+        textfileTask = GuiScheduler.runTimerAsync(() -> {
+            try {
+                writeTextfile(file);
+            } catch (IOException e) {
+                ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not write metrics to " + file, e);
+            }
+        }, 0, period);
+    }
+
+    /**
+     * Writes {@link #scrape()} to a file once.
+     *
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     **/
+    public static void writeTextfile(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stops the HTTP endpoint if it is running.
+     **/
+    public static synchronized void stopHttp() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+        }
+    }
+
+    /**
+     * Stops the periodic file writer if it is running.
+     **/
+    public static synchronized void stopTextfile() {
+        if (textfileTask != null) {
+            textfileTask.cancel();
+            textfileTask = null;
+        }
+    }
+
+    /**
+     * Stops every exporter.
+     **/
+    public static void stop() {
+        stopHttp();
+        stopTextfile();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        sample(out, name + "_total", null, value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, "gauge", help);
+        sample(out, name, null, value);
+    }
+
+    private static void summary(StringBuilder out, String name, String help, Histogram histogram, String labels) {
+        header(out, name, "summary", help);
+        unit(out, name, "seconds");
+        summarySamples(out, name, histogram, labels);
+    }
+
+    private static void summarySamples(StringBuilder out, String name, Histogram histogram, String labels) {
+        for (double quantile : QUANTILES) {
+            String quantileLabel = "quantile=\"" + quantile + "\"";
+            sample(out, name, labels == null ? quantileLabel : labels + "," + quantileLabel, seconds(histogram.getQuantile(quantile)));
+        }
+        sample(out, name + "_sum", labels, seconds(histogram.getSum()));
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void unit(StringBuilder out, String name, String unit) {
+        out.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (labels != null) out.append('{').append(labels).append('}');
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) out.append('{').append(labels).append('}');
+        out.append(' ').append(String.format(Locale.ROOT, "%.9g", value)).append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
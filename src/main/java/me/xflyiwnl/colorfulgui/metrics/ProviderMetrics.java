@@ -0,0 +1,40 @@
+package me.xflyiwnl.colorfulgui.metrics;
+
+/**
+ * Metrics collected for a single {@link me.xflyiwnl.colorfulgui.provider.ColorfulProvider} class.
+ */
+public class ProviderMetrics {
+
+    // provider class name
+    private final String name;
+    // time spent in update handlers, nanoseconds
+    private final Histogram update = new Histogram();
+
+    /**
+     * Creates metrics for the provider class.
+     *
+     * @param name The provider class name
+     **/
+    public ProviderMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the provider class name.
+     *
+     * @return The provider class name
+     **/
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the update handler time histogram, in nanoseconds.
+     *
+     * @return The update handler time histogram
+     **/
+    public Histogram getUpdate() {
+        return update;
+    }
+
+}
@@ -0,0 +1,182 @@
+package me.xflyiwnl.colorfulgui.object;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickStaticAction;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Item that plays a list of precomputed frames.
+ * Frames are finished {@link ItemStack}s, so advancing the animation is a single slot write.
+ * Synced items follow the global clock and may be shared between GUIs;
+ * unsynced items start with the GUI they are in and belong to that GUI only.
+ */
+public class AnimatedItem extends StaticItem {
+
+    // finished frames, every one tagged with the item's unique id
+    private final ItemStack[] frames;
+    // tick at which each frame ends, prefix sums of the frame durations
+    private final long[] ends;
+    // length of one animation cycle in ticks
+    private final long totalTicks;
+    // restarts after the last frame, otherwise stays on it
+    private final boolean loop;
+    // follows the global clock, so every viewer sees the same frame
+    private final boolean synced;
+    // phase offset in ticks
+    private final long offset;
+
+    // index of the frame currently shown
+    private int current = 0;
+
+    /**
+     * Constructor for an AnimatedItem.
+     * The frames are tagged with the unique id once, playback never rebuilds them.
+     *
+     * @param uniqueId  The unique ID for the item
+     * @param frames    The frames of the animation
+     * @param durations The duration of every frame in ticks
+     * @param loop      True to restart after the last frame
+     * @param synced    True to follow the global clock instead of the GUI's open time
+     * @param offset    The phase offset in ticks
+     * @param action    The action to be performed when clicked
+     **/
+    public AnimatedItem(UUID uniqueId, List<ItemStack> frames, int[] durations, boolean loop, boolean synced, long offset, ClickStaticAction action) {
+        super(uniqueId, frames.get(0), action);
+        if (frames.size() != durations.length) {
+            throw new IllegalArgumentException("Every frame needs a duration");
+        }
+
+        NamespacedKey key = new NamespacedKey(ColorfulGUI.getInstance(), "colorfulgui");
+        this.frames = new ItemStack[frames.size()];
+        this.ends = new long[frames.size()];
+        long total = 0;
+        for (int i = 0; i < frames.size(); i++) {
+            ItemStack frame = frames.get(i).clone();
+            ItemMeta meta = frame.getItemMeta();
+            if (meta != null) {
+                meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, uniqueId.toString());
+                frame.setItemMeta(meta);
+            }
+            this.frames[i] = frame;
+            total += Math.max(1, durations[i]);
+            this.ends[i] = total;
+        }
+        this.totalTicks = total;
+        this.loop = loop;
+        this.synced = synced;
+        this.offset = offset;
+    }
+
+    /**
+     * Calculates the frame shown at a tick of the animation.
+     *
+     * @param tick The animation tick
+     * @return The frame index
+     **/
+    public int frameAt(long tick) {
+        long t = tick + offset;
+        if (t < 0) t = 0;
+        if (loop) {
+            t %= totalTicks;
+        } else if (t >= totalTicks) {
+            return frames.length - 1;
+        }
+        int index = Arrays.binarySearch(ends, t);
+        // an exact hit is the first tick of the next frame
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Moves the animation to a tick.
+     *
+     * @param globalTick The tick of the global animation clock
+     * @param guiTick    The number of ticks since the GUI was first opened
+     * @return The index of the frame to show
+     **/
+    public int advance(long globalTick, long guiTick) {
+        current = frameAt(synced ? globalTick : guiTick);
+        return current;
+    }
+
+    /**
+     * Retrieves the frame currently shown.
+     *
+     * @return The ItemStack of the current frame
+     **/
+    @Override
+    public ItemStack getItemStack() {
+        return frames[current];
+    }
+
+    /**
+     * Retrieves a frame.
+     *
+     * @param index The frame index
+     * @return The ItemStack of the frame
+     **/
+    public ItemStack getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * Retrieves the number of frames.
+     *
+     * @return The frame count
+     **/
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Retrieves the length of one animation cycle.
+     *
+     * @return The cycle length in ticks
+     **/
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Retrieves the index of the frame currently shown.
+     *
+     * @return The frame index
+     **/
+    public int getCurrentFrame() {
+        return current;
+    }
+
+    /**
+     * Checks if the animation loops.
+     *
+     * @return True if the animation restarts after the last frame
+     **/
+    public boolean isLoop() {
+        return loop;
+    }
+
+    /**
+     * Checks if the animation follows the global clock.
+     *
+     * @return True if every viewer sees the same frame
+     **/
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Retrieves the phase offset.
+     *
+     * @return The offset in ticks
+     **/
+    public long getOffset() {
+        return offset;
+    }
+
+}
@@ -1,13 +1,31 @@
 package me.xflyiwnl.colorfulgui.object;
 
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.debug.GuiFootprint;
+import me.xflyiwnl.colorfulgui.debug.SlotHeatmap;
+import me.xflyiwnl.colorfulgui.jfr.GuiRenderEvent;
+import me.xflyiwnl.colorfulgui.jfr.GuiTitleUpdateEvent;
+import me.xflyiwnl.colorfulgui.listener.GuiInventories;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.session.GuiSession;
+import me.xflyiwnl.colorfulgui.task.GuiScheduler;
 import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import me.xflyiwnl.colorfulgui.util.TextAnimation;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Gui {
 
@@ -31,6 +49,31 @@ public class Gui {
     // inventory's holder
     private ColorfulProvider<?> holder;
 
+    // slots written since the last render started
+    private int renderedSlots = 0;
+    // slot write counts, only while the heatmap debug mode is on
+    private SlotHeatmap heatmap;
+
+    // animated items by unique id
+    private final Map<UUID, AnimatedItem> animations = new LinkedHashMap<UUID, AnimatedItem>();
+    // frame last written per animated item
+    private final Map<UUID, Integer> shownFrames = new HashMap<UUID, Integer>();
+    // animation clock tick of the first open, -1 until then
+    private long animationStart = -1;
+    // animated title, applied to the open views without re-creating the inventory
+    private TextAnimation titleAnimation;
+    // title frame last applied
+    private int shownTitleFrame = -1;
+
+    // changes queued from other threads, applied together on the owning thread
+    private final Queue<Consumer<? super Gui>> mutations = new ConcurrentLinkedQueue<Consumer<? super Gui>>();
+    // true while a drain of the mutations is scheduled
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // incremented on every item added, set or removed, and when the shown order changes
+    private long contentVersion = 0;
+    // last published copy of the items, for readers on other threads
+    private volatile GuiSnapshot snapshot = GuiSnapshot.EMPTY;
+
     public Gui() {}
 
     /**
@@ -47,27 +90,226 @@ public class Gui {
         this.mask = mask;
 
         inventory = Bukkit.createInventory(holder, rows * 9, ColorUtils.colorize(title));
+        GuiInventories.register(inventory, holder);
     }
 
     /**
      * Drawing inventory, arranges {@link GuiItem}
      **/
     public void render() {
+        GuiRenderEvent event = new GuiRenderEvent();
+        event.begin();
+        long start = GuiMetrics.start();
         inventory.clear();
         itemIndex.clear();
+        renderedSlots = 0;
         drawMask();
 
         for (Integer slot : setItems.keySet()) {
             GuiItem item = setItems.get(slot);
-            inventory.setItem(slot, item.getItemStack());
+            writeSlot(slot, item.getItemStack());
             itemIndex.put(item.getUniqueId(), slot);
         }
         for (GuiItem item : addItems) {
             int slot = searchSlot();
             if (slot == -1) break;
-            inventory.setItem(slot, item.getItemStack());
+            writeSlot(slot, item.getItemStack());
             itemIndex.put(item.getUniqueId(), slot);
         }
+        markShownFrames();
+        GuiMetrics.recordRender(start, renderedSlots);
+
+        if (event.shouldCommit()) {
+            event.setGui(this);
+            event.slots = renderedSlots;
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes an {@link ItemStack} into a slot of the {@link Inventory}
+     * Every slot write of the GUI goes through this method
+     *
+     * @param slot      The slot using {@link Integer}
+     * @param itemStack The {@link ItemStack} to write
+     **/
+    protected void writeSlot(int slot, ItemStack itemStack) {
+        inventory.setItem(slot, itemStack);
+        renderedSlots++;
+        GuiMetrics.recordSlotWrite();
+        if (SlotHeatmap.isEnabled()) {
+            if (heatmap == null) heatmap = new SlotHeatmap(inventory.getSize());
+            heatmap.record(slot, itemStack);
+        }
+    }
+
+    /**
+     * Writes the animated items whose frame changed
+     * Called every tick by {@link me.xflyiwnl.colorfulgui.task.AnimationTask} while the GUI is open
+     *
+     * @param globalTick    The tick of the global animation clock
+     **/
+    public void animate(long globalTick) {
+        if (titleAnimation != null) {
+            animateTitle(globalTick);
+        }
+        if (animations.isEmpty()) return;
+        if (animationStart < 0) animationStart = globalTick;
+        long guiTick = globalTick - animationStart;
+        for (AnimatedItem item : animations.values()) {
+            int frame = item.advance(globalTick, guiTick);
+            Integer slot = itemIndex.get(item.getUniqueId());
+            if (slot == null) continue;
+            Integer shown = shownFrames.put(item.getUniqueId(), frame);
+            if (shown == null || shown != frame) {
+                writeSlot(slot, item.getItemStack());
+            }
+        }
+    }
+
+    private void animateTitle(long globalTick) {
+        int frame = titleAnimation.frameIndex(globalTick);
+        if (frame == shownTitleFrame) return;
+        shownTitleFrame = frame;
+        String text = titleAnimation.getFrame(frame);
+        for (HumanEntity viewer : inventory.getViewers()) {
+            InventoryView view = viewer.getOpenInventory();
+            if (inventory.equals(view.getTopInventory())) {
+                view.setTitle(text);
+            }
+        }
+    }
+
+    /**
+     * Remembers the frames written by a render, so {@link #animate(long)} skips them
+     **/
+    protected void markShownFrames() {
+        if (animations.isEmpty()) return;
+        shownFrames.clear();
+        for (AnimatedItem item : animations.values()) {
+            if (itemIndex.containsKey(item.getUniqueId())) {
+                shownFrames.put(item.getUniqueId(), item.getCurrentFrame());
+            }
+        }
+    }
+
+    /**
+     * Registers an item if it is animated
+     *
+     * @param item  The {@link GuiItem} added to the GUI
+     **/
+    protected void trackAnimation(GuiItem item) {
+        if (item instanceof AnimatedItem animatedItem) {
+            animations.put(animatedItem.getUniqueId(), animatedItem);
+        }
+    }
+
+    /**
+     * Checks if the GUI contains animated items
+     *
+     * @return return's true if there is at least one {@link AnimatedItem}
+     **/
+    public boolean hasAnimations() {
+        return !animations.isEmpty() || titleAnimation != null;
+    }
+
+    /**
+     * Get method for the animated title
+     *
+     * @return return's {@link TextAnimation}, or null if the title is not animated
+     **/
+    public TextAnimation getTitleAnimation() {
+        return titleAnimation;
+    }
+
+    /**
+     * Set method for the animated title
+     * The frames are applied to the open views, the inventory is not re-created
+     *
+     * @param titleAnimation    The {@link TextAnimation} to play, or null to stop
+     **/
+    public void setTitleAnimation(TextAnimation titleAnimation) {
+        this.titleAnimation = titleAnimation;
+        this.shownTitleFrame = -1;
+    }
+
+    /**
+     * Get method for the animated items
+     *
+     * @return return's {@link Collection} of {@link AnimatedItem}
+     **/
+    public Collection<AnimatedItem> getAnimations() {
+        return animations.values();
+    }
+
+    /**
+     * Get method for the number of slots written since the last render started
+     *
+     * @return return's {@link Integer}
+     **/
+    protected int getRenderedSlots() {
+        return renderedSlots;
+    }
+
+    /**
+     * Get method for the slot write heatmap
+     *
+     * @return return's {@link SlotHeatmap}, or null if nothing was recorded
+     **/
+    public SlotHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Adds the estimated footprint of this GUI
+     * Subclasses holding more state extend it
+     *
+     * @param footprint The {@link GuiFootprint} to add to
+     **/
+    public void collectFootprint(GuiFootprint footprint) {
+        footprint.addGui();
+        footprint.addSlots(inventory.getSize());
+        footprint.addItems(setItems.size() + addItems.size() + mask.getMaskItems().size());
+        for (GuiItem item : setItems.values()) {
+            footprint.addItemStack(item.getItemStack());
+        }
+        for (GuiItem item : addItems) {
+            footprint.addItemStack(item.getItemStack());
+        }
+        for (GuiItem item : mask.getMaskItems().values()) {
+            footprint.addItemStack(item.getItemStack());
+        }
+        for (AnimatedItem item : animations.values()) {
+            footprint.addFrames(item.getFrameCount());
+        }
+        // the inventory holds its own copies of the rendered stacks
+        for (ItemStack itemStack : inventory.getContents()) {
+            footprint.addItemStack(itemStack);
+        }
+    }
+
+    /**
+     * Writes the state a player should get back on the next open into a session
+     * Subclasses with navigation state extend it
+     *
+     * @param session   The {@link GuiSession} to fill
+     **/
+    public void saveSession(GuiSession session) {
+    }
+
+    /**
+     * Restores the state saved by {@link #saveSession(GuiSession)}, called before the GUI is shown
+     *
+     * @param session   The saved {@link GuiSession}
+     **/
+    public void restoreSession(GuiSession session) {
+    }
+
+    /**
+     * Resets the written slots counter, called when a render starts
+     **/
+    protected void resetRenderedSlots() {
+        renderedSlots = 0;
     }
 
     /**
@@ -88,6 +330,7 @@ public class Gui {
      **/
     public void addMask(String indicator, GuiItem item) {
         getMask().addItem(indicator, item);
+        trackAnimation(item);
     }
 
     /**
@@ -98,11 +341,12 @@ public class Gui {
      **/
     public void drawMask(Inventory inventory) {
         getMask().getMaskItems().forEach((value, item) -> {
-            List<Integer> slots = getMask().slots(value);
-            if (!slots.isEmpty()) {
-                slots.forEach(integer -> {
-                    setItem(integer, item);
-                });
+            for (int slot : getMask().slots(value)) {
+                // written directly, the content only changes the first time the mask is drawn
+                if (setItems.put(slot, item) != item) {
+                    trackAnimation(item);
+                    contentChanged();
+                }
             }
         });
     }
@@ -138,7 +382,18 @@ public class Gui {
     public void updateItem(GuiItem item) {
         if (!itemIndex.containsKey(item.getUniqueId())) return;
         int slot = itemIndex.get(item.getUniqueId());
-        inventory.setItem(slot, item.getItemStack());
+        writeSlot(slot, item.getItemStack());
+    }
+
+    /**
+     * Shows the result of an update tick, called by the update task after the update handlers of the items ran
+     * The whole GUI is rendered again, subclasses that skip unchanged slots must still write the updated items,
+     * their stacks may have been changed in place
+     *
+     * @param items     The items whose update handler ran
+     **/
+    public void showUpdated(Collection<? extends GuiItem> items) {
+        render();
     }
 
     /**
@@ -148,19 +403,28 @@ public class Gui {
      * @param title     The inventory title using {@link String}
      **/
     public void updateTitle(String title) {
+        GuiTitleUpdateEvent event = new GuiTitleUpdateEvent();
+        event.begin();
         this.title = title;
 
         final List<HumanEntity> viewers = new ArrayList<HumanEntity>(inventory.getViewers());
         inventory = Bukkit.createInventory(holder, rows * 9, ColorUtils.colorize(title));
+        GuiInventories.register(inventory, holder);
+        shownTitleFrame = -1;
 
         // rendering and opening new inventory for viewers
         for (final HumanEntity viewer : viewers) {
-            if (viewer.isSleeping()) return;
+            if (viewer.isSleeping()) continue;
 
             render();
             viewer.openInventory(inventory);
         }
 
+        if (event.shouldCommit()) {
+            event.setGui(this);
+            event.slots = inventory.getSize();
+            event.commit();
+        }
     }
 
     /**
@@ -178,6 +442,7 @@ public class Gui {
      * @param item  the item to be deleted
      **/
     public void removeItem(GuiItem item) {
+        contentChanged();
 
         for (Map.Entry<UUID, Integer> gitem : itemIndex.entrySet()) {
             if (gitem.getKey() == item.getUniqueId()) {
@@ -190,6 +455,8 @@ public class Gui {
         itemIndex.keySet().removeIf(guiItem -> guiItem.equals(item.getUniqueId()));
 
         getMask().getMaskItems().values().removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
+        animations.remove(item.getUniqueId());
+        shownFrames.remove(item.getUniqueId());
 
     }
 
@@ -256,6 +523,23 @@ public class Gui {
      **/
     public void setItem(int slot, GuiItem item) {
         getSetItems().put(slot, item);
+        trackAnimation(item);
+        contentChanged();
+    }
+
+    /**
+     * Removes the {@link GuiItem} set in a slot from {@link #getSetItems()}
+     * The slot is cleared in the inventory on the next render
+     *
+     * @param slot      The slot using {@link Integer}
+     * @return return's the removed {@link GuiItem}, or null if nothing was set in the slot
+     **/
+    public GuiItem removeSetItem(int slot) {
+        GuiItem item = setItems.remove(slot);
+        if (item == null) return null;
+        itemIndex.remove(item.getUniqueId(), slot);
+        contentChanged();
+        return item;
     }
 
     /**
@@ -276,10 +560,13 @@ public class Gui {
      **/
     public void addItem(GuiItem item) {
         getAddItems().add(item);
+        trackAnimation(item);
+        contentChanged();
     }
 
     /**
-     * Alternative method {@link #addItem(GuiItem)}
+     * Alternative method {@link #addItem(GuiItem)}, each item goes through {@link #addItem(GuiItem)}
+     * Use {@link #addItems(Collection)} to place a whole batch in one pass
      *
      * @param item  The {@link GuiItem} array to iterate
      **/
@@ -289,6 +576,162 @@ public class Gui {
         }
     }
 
+    /**
+     * Adds many {@link GuiItem}s to {@link #getAddItems()} at once
+     * Subclasses place the whole batch in one pass instead of item by item
+     *
+     * @param items     The items to add, in order
+     **/
+    public void addItems(Collection<? extends GuiItem> items) {
+        getAddItems().addAll(items);
+        for (GuiItem item : items) {
+            trackAnimation(item);
+        }
+        contentChanged();
+    }
+
+    /**
+     * Alternative method {@link #addItems(Collection)}, the stream is consumed on the calling thread
+     *
+     * @param items     The items to add, in order
+     **/
+    public void addItems(Stream<? extends GuiItem> items) {
+        addItems(items.collect(Collectors.toList()));
+    }
+
+    /**
+     * Queues adding an item, safe to call from any thread.
+     *
+     * @param item  The {@link GuiItem} to add
+     **/
+    public void queueAddItem(GuiItem item) {
+        queue(gui -> gui.addItem(item));
+    }
+
+    /**
+     * Queues setting an item, safe to call from any thread.
+     *
+     * @param slot  The slot using {@link Integer}
+     * @param item  The {@link GuiItem} to set
+     **/
+    public void queueSetItem(int slot, GuiItem item) {
+        queue(gui -> gui.setItem(slot, item));
+    }
+
+    /**
+     * Queues removing an item, safe to call from any thread.
+     *
+     * @param item  The {@link GuiItem} to remove
+     **/
+    public void queueRemoveItem(GuiItem item) {
+        queue(gui -> gui.removeItem(item));
+    }
+
+    /**
+     * Queues a change of the GUI, safe to call from any thread.
+     * Changes queued before the next tick are applied together on the thread owning the GUI,
+     * in the order they were queued, and the GUI is rendered once afterwards.
+     *
+     * @param mutation  The change, runs on the owning thread
+     **/
+    public void queue(Consumer<? super Gui> mutation) {
+        mutations.add(mutation);
+        if (drainScheduled.compareAndSet(false, true)) {
+            GuiScheduler.run(holder != null ? holder.getPlayer() : null, this::applyQueued,
+                    () -> drainScheduled.set(false));
+        }
+    }
+
+    /**
+     * Applies the queued changes, called on the owning thread once per tick while changes are queued.
+     * Publishes a new {@link GuiSnapshot} and renders the GUI if it is open.
+     *
+     * @return The number of changes applied
+     **/
+    public int applyQueued() {
+        // cleared first, so a change queued while draining schedules the next drain
+        drainScheduled.set(false);
+        int applied = 0;
+        Consumer<? super Gui> mutation;
+        while ((mutation = mutations.poll()) != null) {
+            try {
+                mutation.accept(this);
+            } catch (RuntimeException e) {
+                ColorfulGUI.getInstance().getLogger().log(Level.SEVERE, "Queued change of " + getClass().getSimpleName() + " failed", e);
+            }
+            applied++;
+        }
+        if (applied == 0) return 0;
+
+        publishSnapshot();
+        if (!inventory.getViewers().isEmpty()) refresh();
+        return applied;
+    }
+
+    /**
+     * Shows the current content in the open inventory after queued changes were applied
+     * Subclasses that arrange their content before rendering extend it
+     **/
+    protected void refresh() {
+        render();
+    }
+
+    /**
+     * Publishes a copy of the current items for {@link #getSnapshot()}, must be called on the owning thread.
+     * Does nothing if the content did not change since the last snapshot.
+     **/
+    public void publishSnapshot() {
+        if (snapshot.getVersion() == contentVersion) return;
+        snapshot = new GuiSnapshot(contentVersion, setItems, snapshotItems());
+    }
+
+    /**
+     * Retrieves the last published copy of the items, safe to call from any thread.
+     *
+     * @return The {@link GuiSnapshot}, empty until the first publish
+     **/
+    public GuiSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get method for the added items in the order they are shown, copied into snapshots
+     *
+     * @return return's {@link List} with {@link GuiItem} value
+     **/
+    protected List<GuiItem> snapshotItems() {
+        return addItems;
+    }
+
+    /**
+     * Marks the content as changed, called whenever an item is added, set or removed, or the shown order changes
+     **/
+    protected void contentChanged() {
+        contentVersion++;
+    }
+
+    /**
+     * Get method for the content version, compared to detect changes made in the meantime
+     *
+     * @return return's the version, incremented by {@link #contentChanged()}
+     **/
+    protected long getContentVersion() {
+        return contentVersion;
+    }
+
+    /**
+     * Get method for the items the update task should update
+     * Subclasses that hold items outside the inventory return only the shown ones
+     *
+     * @return return's {@link List} with {@link GuiItem} value
+     **/
+    public List<GuiItem> getUpdatableItems() {
+        List<GuiItem> items = new ArrayList<GuiItem>(setItems.size() + addItems.size());
+        items.addAll(setItems.values());
+        items.addAll(addItems);
+        return items;
+    }
+
     /**
      * Get method for setted items
      *
@@ -339,6 +782,7 @@ public class Gui {
      **/
     public void setHolder(ColorfulProvider<?> holder) {
         this.holder = holder;
+        GuiInventories.register(inventory, holder);
     }
 
 }
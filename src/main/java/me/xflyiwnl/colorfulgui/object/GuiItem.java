@@ -2,6 +2,7 @@ package me.xflyiwnl.colorfulgui.object;
 
 import me.xflyiwnl.colorfulgui.builder.ItemBuilder;
 import me.xflyiwnl.colorfulgui.object.action.ClickAction;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickAsyncAction;
 import me.xflyiwnl.colorfulgui.object.event.ClickItemEvent;
 import me.xflyiwnl.colorfulgui.ColorfulGUI;
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
@@ -11,7 +12,15 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class GuiItem {
 
@@ -22,6 +31,20 @@ public abstract class GuiItem {
     private ItemStack itemStack;
     // runs this code when clicked
     private ClickAction<? extends ClickItemEvent> action;
+    // runs this code off the main thread when clicked
+    private ClickAsyncAction asyncAction;
+    // true while the async action is in flight
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+
+    // minimum milliseconds between two actions of the same player
+    private long cooldown = 0;
+    // milliseconds a player has to stop clicking before a click counts again
+    private long debounce = 0;
+    // player -> {last action, last click}, only used with a cooldown or debounce
+    private Map<UUID, long[]> clickTimes;
+
+    // lowercase category tags, used by the search index of paginated GUIs
+    private Set<String> tags = Collections.emptySet();
 
     public GuiItem() {
     }
@@ -121,6 +144,144 @@ public abstract class GuiItem {
         this.action = action;
     }
 
+    /**
+     * Retrieves the ClickAsyncAction of the GuiItem.
+     *
+     * @return The ClickAsyncAction of the GuiItem
+     **/
+    public ClickAsyncAction getAsyncAction() {
+        return asyncAction;
+    }
+
+    /**
+     * Sets the ClickAsyncAction of the GuiItem.
+     *
+     * @param asyncAction The ClickAsyncAction to be set
+     **/
+    public void setAsyncAction(ClickAsyncAction asyncAction) {
+        this.asyncAction = asyncAction;
+    }
+
+    /**
+     * Locks the GuiItem for an async action.
+     *
+     * @return True if the lock was taken, false if an async action is already in flight
+     **/
+    public boolean tryLock() {
+        return inFlight.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases the lock taken by {@link #tryLock()}.
+     **/
+    public void unlock() {
+        inFlight.set(false);
+    }
+
+    /**
+     * Checks if an async action of the GuiItem is in flight.
+     *
+     * @return True if the GuiItem is locked
+     **/
+    public boolean isLocked() {
+        return inFlight.get();
+    }
+
+    /**
+     * Checks the cooldown and debounce of the item for a click and records it.
+     *
+     * @param player The unique id of the clicking player
+     * @return True if the action may run, false if the click is ignored
+     **/
+    public synchronized boolean acceptClick(UUID player) {
+        if (cooldown <= 0 && debounce <= 0) return true;
+
+        long now = System.currentTimeMillis();
+        if (clickTimes == null) clickTimes = new HashMap<>();
+        if (clickTimes.size() > 64) {
+            long window = Math.max(cooldown, debounce);
+            clickTimes.values().removeIf(times -> now - Math.max(times[0], times[1]) >= window);
+        }
+
+        long[] times = clickTimes.computeIfAbsent(player, uuid -> new long[]{Long.MIN_VALUE / 2, Long.MIN_VALUE / 2});
+        long lastClick = times[1];
+        times[1] = now;
+        if (now - lastClick < debounce || now - times[0] < cooldown) {
+            return false;
+        }
+        times[0] = now;
+        return true;
+    }
+
+    /**
+     * Retrieves the cooldown of the GuiItem.
+     *
+     * @return The minimum time between two actions of the same player, in milliseconds
+     **/
+    public long getCooldown() {
+        return cooldown;
+    }
+
+    /**
+     * Sets the cooldown of the GuiItem.
+     *
+     * @param cooldown The minimum time between two actions of the same player, in milliseconds
+     **/
+    public void setCooldown(long cooldown) {
+        this.cooldown = Math.max(0, cooldown);
+    }
+
+    /**
+     * Retrieves the debounce of the GuiItem.
+     *
+     * @return The time a player has to stop clicking before a click counts again, in milliseconds
+     **/
+    public long getDebounce() {
+        return debounce;
+    }
+
+    /**
+     * Sets the debounce of the GuiItem.
+     *
+     * @param debounce The time a player has to stop clicking before a click counts again, in milliseconds
+     **/
+    public void setDebounce(long debounce) {
+        this.debounce = Math.max(0, debounce);
+    }
+
+    /**
+     * Retrieves the category tags of the GuiItem.
+     *
+     * @return An unmodifiable set of lowercase tags
+     **/
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(tags);
+    }
+
+    /**
+     * Sets the category tags of the GuiItem.
+     * Tags are stored in lowercase.
+     *
+     * @param tags The tags to be set
+     **/
+    public void setTags(Collection<String> tags) {
+        Set<String> set = new LinkedHashSet<>(tags.size());
+        for (String tag : tags) {
+            set.add(tag.toLowerCase(Locale.ROOT));
+        }
+        this.tags = set;
+    }
+
+    /**
+     * Checks if the GuiItem has a category tag.
+     *
+     * @param tag The tag, case insensitive
+     * @return True if the GuiItem has the tag
+     **/
+    public boolean hasTag(String tag) {
+        return tags.contains(tag.toLowerCase(Locale.ROOT));
+    }
+
     public <T> void addTo(ColorfulProvider<?> gui) {
         gui.getGui().addItem(this);
     }
@@ -0,0 +1,55 @@
+package me.xflyiwnl.colorfulgui.object;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of the items of a {@link Gui}, safe to read from any thread.
+ * A new snapshot is published by {@link Gui#publishSnapshot()} on the thread owning the GUI,
+ * readers always see a complete state, never one in the middle of a change.
+ */
+public final class GuiSnapshot {
+
+    static final GuiSnapshot EMPTY = new GuiSnapshot(-1, Collections.emptyMap(), Collections.emptyList());
+
+    // content version the snapshot was taken at
+    private final long version;
+    private final Map<Integer, GuiItem> setItems;
+    private final List<GuiItem> addItems;
+
+    GuiSnapshot(long version, Map<Integer, GuiItem> setItems, List<GuiItem> addItems) {
+        this.version = version;
+        this.setItems = Collections.unmodifiableMap(new HashMap<Integer, GuiItem>(setItems));
+        this.addItems = List.copyOf(addItems);
+    }
+
+    /**
+     * Retrieves the version of the content, it changes with every item added, set or removed.
+     *
+     * @return The content version
+     **/
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the items set to fixed slots.
+     *
+     * @return An unmodifiable map of slot to item
+     **/
+    public Map<Integer, GuiItem> getSetItems() {
+        return setItems;
+    }
+
+    /**
+     * Retrieves the added items, in the order they are shown.
+     *
+     * @return An unmodifiable list of the items
+     **/
+    public List<GuiItem> getAddItems() {
+        return addItems;
+    }
+
+}
@@ -1,15 +1,25 @@
 
 package me.xflyiwnl.colorfulgui.object;
 
+import me.xflyiwnl.colorfulgui.debug.GuiFootprint;
+import me.xflyiwnl.colorfulgui.jfr.GuiRenderEvent;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import me.xflyiwnl.colorfulgui.object.search.CatalogIndex;
+import me.xflyiwnl.colorfulgui.object.search.CatalogResult;
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.session.GuiSession;
+import me.xflyiwnl.colorfulgui.task.AsyncActionExecutor;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class PaginatedGui extends Gui {
 
+    // lists at least this large are sorted off the main thread
+    private static final int ASYNC_SORT_THRESHOLD = 4096;
+
     // current showing page
     private int currentPage = 1;
 
@@ -19,6 +29,29 @@ public class PaginatedGui extends Gui {
     // pages and slots with items
     private final HashMap<Integer, LinkedHashMap<Integer, GuiItem>> pages = new HashMap<Integer, LinkedHashMap<Integer, GuiItem>>();
 
+    // search index over the added items, built on the first query
+    private CatalogIndex index;
+    // active filter, the pages are taken from the result while it is set
+    private String filterText = "";
+    private List<String> filterTags = Collections.emptyList();
+    private boolean filtered = false;
+    private CatalogResult filterResult;
+
+    // sort order of the added items, null keeps the order they were added in
+    private Comparator<? super GuiItem> sortOrder;
+    // order the ordered items are sorted by, lags behind the sort order while a sort is running
+    private Comparator<? super GuiItem> appliedOrder;
+    // added items in sort order, null while no sort order is applied
+    private ArrayList<GuiItem> ordered;
+    // bumped on every sort request, a finished sort is only applied if it is still the latest
+    private long sortSequence = 0;
+    // items added or repositioned while an async sort runs, null while none runs
+    private Set<GuiItem> sortChanges;
+    // true once the items were arranged on the pages
+    private boolean laidOut = false;
+    // number of items arranged by the last full layout
+    private int laidOutCount = 0;
+
     /**
      * The main constructor for initialize inventory, has super
      *
@@ -37,16 +70,28 @@ public class PaginatedGui extends Gui {
      * Renders the inventory.
      **/
     public void render() {
+        GuiRenderEvent event = new GuiRenderEvent();
+        event.begin();
+        long start = GuiMetrics.start();
         getInventory().clear();
+        resetRenderedSlots();
         drawMask();
         settedItems();
         getItemIndex().clear();
 
-        pages.get(currentPage).forEach((integer, item) -> {
-            getInventory().setItem(integer, item.getItemStack());
+        currentPageItems().forEach((integer, item) -> {
+            writeSlot(integer, item.getItemStack());
             getItemIndex().put(item.getUniqueId(), integer);
         });
 
+        markShownFrames();
+        GuiMetrics.recordRender(start, getRenderedSlots());
+
+        if (event.shouldCommit()) {
+            event.setGui(this);
+            event.slots = getRenderedSlots();
+            event.commit();
+        }
     }
 
     /**
@@ -54,7 +99,7 @@ public class PaginatedGui extends Gui {
      **/
     public void next() {
         int nextPage = currentPage + 1;
-        if (pages.containsKey(nextPage)) {
+        if (filtered ? getFilterResult().has(currentPage * getPageSize()) : pages.containsKey(nextPage)) {
             currentPage = nextPage;
             render();
         }
@@ -65,7 +110,7 @@ public class PaginatedGui extends Gui {
      **/
     public void previous() {
         int prevPage = currentPage - 1;
-        if (pages.containsKey(prevPage)) {
+        if (filtered ? prevPage >= 1 : pages.containsKey(prevPage)) {
             currentPage = prevPage;
             render();
         }
@@ -89,6 +134,10 @@ public class PaginatedGui extends Gui {
     @Override
     public void show(Player player) {
         sortItems();
+        // a restored page may no longer exist
+        if (currentPage > 1 && !(filtered ? getFilterResult().has((currentPage - 1) * getPageSize()) : pages.containsKey(currentPage))) {
+            currentPage = filtered ? 1 : getMaxPage();
+        }
         render();
         player.openInventory(getInventory());
     }
@@ -99,6 +148,10 @@ public class PaginatedGui extends Gui {
      * @return The maximum page number
      **/
     public int getMaxPage() {
+        if (filtered) {
+            int pageSize = getPageSize();
+            return pageSize == 0 ? 1 : Math.max(1, (getFilterResult().size() + pageSize - 1) / pageSize);
+        }
         return pages.size();
     }
 
@@ -115,57 +168,489 @@ public class PaginatedGui extends Gui {
      * Calculating items in {@link Inventory} and changes the {@link #getAllowedZone()}
      **/
     protected void calculatePerPageItems() {
-        List<Integer> mask = getMask().slots();
+        allowedZone.clear();
+        Set<Integer> taken = new HashSet<>(getMask().slots());
+        taken.addAll(getSetItems().keySet());
         for (int i = 0; i < getInventory().getSize(); i++) {
-            if (!mask.contains(i)) {
-                ItemStack itemStack = getInventory().getItem(i);
-                if (itemStack == null) {
-                    allowedZone.add(i);
-                }
+            if (!taken.contains(i)) {
+                allowedZone.add(i);
             }
         }
     }
 
     /**
      * Arranges the {@link GuiItem} on the {@link #getPages()}
+     * The pages are only arranged again if the free slots changed or items were removed since the last time,
+     * added items are arranged when they are added.
      **/
     protected void sortItems() {
         drawMask();
         settedItems();
 
+        List<Integer> previousZone = new ArrayList<>(allowedZone);
         calculatePerPageItems();
+        if (laidOut && previousZone.equals(allowedZone)) return;
+
+        if (!previousZone.equals(allowedZone)) {
+            // the pages are keyed by the old slots
+            pages.clear();
+            pages.put(1, new LinkedHashMap<>());
+            laidOutCount = 0;
+        }
+        layoutAll();
+    }
+
+    private void layoutAll() {
+        List<GuiItem> items = contentItems();
+        layout(items, 0, items.size());
+        trim(items.size());
+        laidOut = true;
+    }
+
+    /**
+     * Removes the slots left over from a longer layout, pages that become empty are dropped
+     *
+     * @param count     The number of items now arranged
+     **/
+    private void trim(int count) {
+        int size = allowedZone.size();
+        if (size > 0) {
+            for (int position = count; position < laidOutCount; position++) {
+                LinkedHashMap<Integer, GuiItem> page = pages.get(1 + position / size);
+                if (page != null) page.remove(allowedZone.get(position % size));
+            }
+            pages.entrySet().removeIf(entry -> entry.getKey() > 1 && entry.getValue().isEmpty());
+        }
+        laidOutCount = count;
+    }
+
+    /**
+     * Arranges a range of items on the pages, the n-th item goes to slot n % size of page n / size + 1
+     *
+     * @param items     The items in page order
+     * @param from      The first position to arrange
+     * @param to        The position after the last one to arrange
+     **/
+    private void layout(List<GuiItem> items, int from, int to) {
+        int size = allowedZone.size();
+        if (size == 0) return;
+
+        ListIterator<GuiItem> iterator = items.listIterator(from);
+        for (int position = from; position < to && iterator.hasNext(); position++) {
+            int page = 1 + position / size;
+            pages.computeIfAbsent(page, key -> new LinkedHashMap<>()).put(allowedZone.get(position % size), iterator.next());
+        }
+    }
+
+    /**
+     * Retrieves the added items in page order
+     *
+     * @return The items in sort order if a sort order is applied, otherwise in the order they were added
+     **/
+    protected List<GuiItem> contentItems() {
+        return ordered != null ? ordered : getAddItems();
+    }
+
+    /**
+     * Switches the sort order and renders the first page once the items are sorted.
+     * The sort is stable; large lists are sorted in parallel off the main thread while the old order stays shown.
+     * If the order is switched again before a sort finishes, the older sort is dropped.
+     * Items added or repositioned while sorting are placed by the shown order until the sort lands,
+     * then they are merged into the sorted items, so the sort is never started over.
+     * The comparator runs off the main thread, so it must only read thread-safe keys.
+     *
+     * @param order     The {@link Comparator}, or null to restore the order the items were added in
+     * @return A future completed on the main thread once the order is shown
+     **/
+    public CompletableFuture<Void> setSortOrder(Comparator<? super GuiItem> order) {
+        long sequence = ++sortSequence;
+        this.sortOrder = order;
+        this.sortChanges = null;
+        if (order == null) {
+            ordered = null;
+            appliedOrder = null;
+            applyOrder();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        GuiItem[] snapshot = getAddItems().toArray(new GuiItem[0]);
+        if (snapshot.length < ASYNC_SORT_THRESHOLD) {
+            Arrays.sort(snapshot, order);
+            ordered = new ArrayList<>(Arrays.asList(snapshot));
+            appliedOrder = order;
+            applyOrder();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long version = getContentVersion();
+        Set<GuiItem> changes = Collections.newSetFromMap(new IdentityHashMap<>());
+        sortChanges = changes;
+        return AsyncActionExecutor.supply(getHolder().getPlayer(), () -> {
+            Arrays.parallelSort(snapshot, order);
+            return snapshot;
+        }).thenAccept(sorted -> {
+            if (sequence != sortSequence) return;
+            sortChanges = null;
+            appliedOrder = order;
+            if (version == getContentVersion()) {
+                ordered = new ArrayList<>(Arrays.asList(sorted));
+            } else {
+                // items were added, removed or repositioned while sorting
+                ordered = reconcile(sorted, changes);
+            }
+            applyOrder();
+        });
+    }
+
+    // drops removed and changed items from a finished sort, then merges the changed items back by the new order
+    private ArrayList<GuiItem> reconcile(GuiItem[] sorted, Set<GuiItem> changes) {
+        List<GuiItem> items = getAddItems();
+        Set<GuiItem> present = Collections.newSetFromMap(new IdentityHashMap<>(items.size()));
+        present.addAll(items);
+
+        ArrayList<GuiItem> kept = new ArrayList<>(items.size());
+        for (GuiItem item : sorted) {
+            if (present.contains(item) && !changes.contains(item)) kept.add(item);
+        }
+        List<GuiItem> changed = new ArrayList<>(changes.size());
+        for (GuiItem item : changes) {
+            if (present.contains(item)) changed.add(item);
+        }
+        if (kept.size() + changed.size() != items.size()) {
+            // an item was added more than once, sort the current items on this thread
+            GuiItem[] current = items.toArray(new GuiItem[0]);
+            Arrays.sort(current, appliedOrder);
+            return new ArrayList<>(Arrays.asList(current));
+        }
+        ordered = kept;
+        merge(changed);
+        return ordered;
+    }
+
+    /**
+     * Get method for the sort order
+     *
+     * @return return's {@link Comparator}, or null if the items keep the order they were added in
+     **/
+    public Comparator<? super GuiItem> getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Changes the sort key of an item and moves it to its new position.
+     * The old position is found by binary search before the change, the new one after it,
+     * and only the pages between both positions are arranged again.
+     * Moving the item shifts the items between both positions, so a move costs O(n) in the worst case:
+     * the shift is a single array copy, and every shifted item changes its slot anyway.
+     *
+     * @param item      The {@link GuiItem} whose key changes
+     * @param change    Applies the change of the key
+     **/
+    public void reposition(GuiItem item, Runnable change) {
+        // a running sort may have read the old key
+        contentChanged();
+        if (sortChanges != null) sortChanges.add(item);
+        if (ordered == null) {
+            change.run();
+            return;
+        }
+        int from = find(item);
+        change.run();
+        move(from, item);
+    }
+
+    /**
+     * Moves an item whose sort key already changed to its new position.
+     * The old position cannot be found by binary search, prefer {@link #reposition(GuiItem, Runnable)}.
+     *
+     * @param item      The {@link GuiItem} whose key changed
+     **/
+    public void reposition(GuiItem item) {
+        contentChanged();
+        if (sortChanges != null) sortChanges.add(item);
+        if (ordered == null) return;
+        move(ordered.indexOf(item), item);
+    }
+
+    // removes and inserts in the array list, O(distance) copies plus the layout of the shifted range
+    private void move(int from, GuiItem item) {
+        if (from < 0) return;
+        ordered.remove(from);
+        int to = upperBound(item);
+        ordered.add(to, item);
+        if (from == to) return;
+
+        int first = Math.min(from, to);
+        int last = Math.max(from, to);
+        invalidateIndex();
+        if (laidOut) {
+            layout(ordered, first, last + 1);
+        }
+        if (filtered || isOnCurrentPage(first, last)) {
+            render();
+        }
+    }
+
+    private void applyOrder() {
+        contentChanged();
+        invalidateIndex();
+        if (laidOut) {
+            calculatePerPageItems();
+            layoutAll();
+        }
+        currentPage = 1;
+        render();
+    }
+
+    private boolean isOnCurrentPage(int first, int last) {
+        int size = allowedZone.size();
+        if (size == 0) return false;
+        return first / size + 1 <= currentPage && currentPage <= last / size + 1;
+    }
+
+    // position of the item in the shown order, found by binary search with its current key
+    private int find(GuiItem item) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (appliedOrder.compare(ordered.get(middle), item) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < ordered.size() && appliedOrder.compare(ordered.get(i), item) == 0; i++) {
+            if (ordered.get(i) == item) return i;
+        }
+        // the key was changed without reposition
+        return ordered.indexOf(item);
+    }
+
+    // position after the last item with an equal key in the shown order
+    private int upperBound(GuiItem item) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (appliedOrder.compare(ordered.get(middle), item) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Shows only the added items whose name contains a text, keeping the tag filter.
+     * The first call builds the search index, later calls only query it.
+     *
+     * @param text  The text to search for, colours and case are ignored, empty to match every name
+     **/
+    public void search(String text) {
+        filter(text, filterTags);
+    }
+
+    /**
+     * Shows only the added items having every given tag, keeping the text filter.
+     *
+     * @param tags  The tags, none to match every item
+     **/
+    public void filter(String... tags) {
+        filter(filterText, Arrays.asList(tags));
+    }
 
-        int page = currentPage;
-        List<Integer> takenZone = new ArrayList<>();
+    /**
+     * Shows only the added items matching a text and tags, then renders the first page.
+     * Only the items of the shown page are looked up, the other pages are computed when they are opened.
+     *
+     * @param text  The text to search for, colours and case are ignored
+     * @param tags  The tags every shown item must have
+     **/
+    public void filter(String text, Collection<String> tags) {
+        this.filterText = text == null ? "" : text;
+        this.filterTags = new ArrayList<>(tags);
+        this.filtered = !filterText.isBlank() || !filterTags.isEmpty();
+        this.filterResult = null;
+        this.currentPage = 1;
+        render();
+    }
 
-        for (GuiItem item : getAddItems()) {
-            for (Integer integer : allowedZone) {
-                if (takenZone.size() == allowedZone.size()) {
-                    takenZone.clear();
-                    page += 1;
-                    if (!pages.containsKey(page)) {
-                        pages.put(page, new LinkedHashMap<>());
-                    }
-                }
+    /**
+     * Removes the search and tag filter and shows every added item again.
+     **/
+    public void clearFilter() {
+        filter("", Collections.emptyList());
+    }
 
-                if (takenZone.contains(integer)) {
-                    continue;
-                }
+    /**
+     * Checks if a search or tag filter is active.
+     *
+     * @return True if only matching items are shown
+     **/
+    public boolean isFiltered() {
+        return filtered;
+    }
 
-                pages.get(page).put(integer, item);
+    /**
+     * Retrieves the matches of the active filter.
+     *
+     * @return The lazily evaluated result, or null if no filter is active
+     **/
+    public CatalogResult getFilterResult() {
+        if (!filtered) return null;
+        if (filterResult == null) {
+            filterResult = getIndex().query(filterText, filterTags);
+        }
+        return filterResult;
+    }
 
-                takenZone.add(integer);
-                break;
+    /**
+     * Retrieves the search index over the added items, building it if needed.
+     * The index is dropped when items are added or removed.
+     *
+     * @return The {@link CatalogIndex}
+     **/
+    public CatalogIndex getIndex() {
+        if (index == null) {
+            index = CatalogIndex.build(contentItems());
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the number of item slots on a page.
+     *
+     * @return The page size
+     **/
+    public int getPageSize() {
+        if (allowedZone.isEmpty()) calculatePerPageItems();
+        return allowedZone.size();
+    }
+
+    /**
+     * Retrieves the items of the current page by slot.
+     * With a filter active only the current page of the result is evaluated.
+     *
+     * @return A map of slot to item
+     **/
+    protected Map<Integer, GuiItem> currentPageItems() {
+        if (!filtered) {
+            return pages.getOrDefault(currentPage, new LinkedHashMap<>());
+        }
+        int pageSize = getPageSize();
+        Map<Integer, GuiItem> items = new LinkedHashMap<>();
+        List<GuiItem> slice = getFilterResult().slice((currentPage - 1) * pageSize, pageSize);
+        for (int i = 0; i < slice.size(); i++) {
+            items.put(allowedZone.get(i), slice.get(i));
+        }
+        return items;
+    }
+
+    /**
+     * Adds {@link GuiItem} to {@link #getAddItems()} and drops the search index
+     *
+     * @param item      The {@link GuiItem} to add
+     **/
+    @Override
+    public void addItem(GuiItem item) {
+        super.addItem(item);
+        if (sortChanges != null) sortChanges.add(item);
+        invalidateIndex();
+        if (ordered == null) {
+            if (laidOut) {
+                int position = getAddItems().size() - 1;
+                layout(getAddItems(), position, position + 1);
+                laidOutCount = Math.max(laidOutCount, position + 1);
             }
+            return;
+        }
+
+        int position = upperBound(item);
+        ordered.add(position, item);
+        if (laidOut) {
+            layout(ordered, position, ordered.size());
+            laidOutCount = Math.max(laidOutCount, ordered.size());
+            if (isOnCurrentPage(position, ordered.size() - 1)) render();
         }
     }
 
+    /**
+     * Adds many items at once.
+     * The batch is placed in one pass: without a sort order it is appended, with one it is sorted and merged
+     * into the ordered items. Only the pages from the first new position on are arranged again, and the
+     * current page is rendered only if it changed.
+     *
+     * @param items     The items to add
+     **/
+    @Override
+    public void addItems(Collection<? extends GuiItem> items) {
+        if (items.isEmpty()) return;
+        int first = contentItems().size();
+        super.addItems(items);
+        if (sortChanges != null) sortChanges.addAll(items);
+        invalidateIndex();
+        if (ordered != null) first = merge(items);
+
+        if (!laidOut) return;
+        List<GuiItem> content = contentItems();
+        layout(content, first, content.size());
+        laidOutCount = Math.max(laidOutCount, content.size());
+        if (filtered || isOnCurrentPage(first, content.size() - 1)) render();
+    }
+
+    // merges a batch into the ordered items, equal keys keep the present items first like upperBound
+    private int merge(Collection<? extends GuiItem> items) {
+        GuiItem[] batch = items.toArray(new GuiItem[0]);
+        Arrays.sort(batch, appliedOrder);
+
+        ArrayList<GuiItem> merged = new ArrayList<>(ordered.size() + batch.length);
+        int first = -1;
+        int present = 0;
+        int added = 0;
+        while (present < ordered.size() || added < batch.length) {
+            if (added < batch.length && (present == ordered.size() || appliedOrder.compare(batch[added], ordered.get(present)) < 0)) {
+                if (first < 0) first = merged.size();
+                merged.add(batch[added++]);
+            } else {
+                merged.add(ordered.get(present++));
+            }
+        }
+        ordered = merged;
+        return first;
+    }
+
+    /**
+     * Arranges the pages again before rendering queued changes
+     **/
+    @Override
+    protected void refresh() {
+        sortItems();
+        render();
+    }
+
+    /**
+     * Get method for the added items in page order, copied into snapshots
+     *
+     * @return return's {@link List} with {@link GuiItem} value
+     **/
+    @Override
+    protected List<GuiItem> snapshotItems() {
+        return contentItems();
+    }
+
+    private void invalidateIndex() {
+        index = null;
+        filterResult = null;
+    }
+
     /**
      * Sets items in the {@link #getInventory()} from {@link #getSetItems()}
      **/
     protected void settedItems() {
         getSetItems().forEach((integer, item) -> {
-            getInventory().setItem(integer, item.getItemStack());
+            writeSlot(integer, item.getItemStack());
         });
     }
 
@@ -180,7 +665,6 @@ public class PaginatedGui extends Gui {
         for (Map.Entry<UUID, Integer> gitem : getItemIndex().entrySet()) {
             if (gitem.getKey().equals(item.getUniqueId())) {
                 getInventory().setItem(gitem.getValue(), null);
-                System.out.println(gitem.getValue());
             }
         }
 
@@ -188,9 +672,58 @@ public class PaginatedGui extends Gui {
             page.getValue().values().removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
         }
 
+        getAddItems().removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
+        if (ordered != null) {
+            ordered.removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
+        }
+        contentChanged();
+        // the pages now have gaps, they are arranged again on the next show
+        laidOut = false;
         getMask().getMaskItems().values().removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
         getItemIndex().keySet().removeIf(guiItem -> guiItem.equals(item.getUniqueId()));
+        getAnimations().removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
+        invalidateIndex();
+
+    }
+
+    /**
+     * Saves the current page and the active filter.
+     *
+     * @param session   The {@link GuiSession} to fill
+     **/
+    @Override
+    public void saveSession(GuiSession session) {
+        session.setPage(currentPage);
+        session.setFilterText(filterText);
+        session.setFilterTags(filterTags);
+    }
 
+    /**
+     * Restores the page and filter, the page is checked when the GUI is shown.
+     *
+     * @param session   The saved {@link GuiSession}
+     **/
+    @Override
+    public void restoreSession(GuiSession session) {
+        this.filterText = session.getFilterText();
+        this.filterTags = new ArrayList<>(session.getFilterTags());
+        this.filtered = !filterText.isBlank() || !filterTags.isEmpty();
+        this.filterResult = null;
+        this.currentPage = session.getPage();
+    }
+
+    /**
+     * Adds the estimated footprint of this GUI, including its pages.
+     *
+     * @param footprint The {@link GuiFootprint} to add to
+     **/
+    @Override
+    public void collectFootprint(GuiFootprint footprint) {
+        super.collectFootprint(footprint);
+        footprint.addPages(pages.size());
+        for (LinkedHashMap<Integer, GuiItem> page : pages.values()) {
+            footprint.addSlots(page.size());
+        }
     }
 
     /**
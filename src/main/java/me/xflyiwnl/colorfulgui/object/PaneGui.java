@@ -0,0 +1,398 @@
+package me.xflyiwnl.colorfulgui.object;
+
+import me.xflyiwnl.colorfulgui.debug.GuiFootprint;
+import me.xflyiwnl.colorfulgui.jfr.GuiRenderEvent;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import me.xflyiwnl.colorfulgui.object.pane.Pane;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+public class PaneGui extends Gui {
+
+    // panes ordered from the top one to the bottom one
+    private final List<Pane> panes = new ArrayList<Pane>();
+    // panes changed since the last flush
+    private final Set<Pane> dirtyPanes = Collections.newSetFromMap(new IdentityHashMap<Pane, Boolean>());
+
+    // bottom layer: mask, set items and added items, rebuilt only when it changed
+    private GuiItem[] base;
+    private boolean baseDirty = true;
+
+    // cached composite frame, the item shown in every slot
+    private GuiItem[] composite;
+    // stacks currently written in the inventory, compared by identity
+    private ItemStack[] shown;
+    // inventory the shown stacks belong to
+    private Inventory shownInventory;
+
+    /**
+     * The main constructor for initialize inventory, has super
+     *
+     * @param holder    The {@link ColorfulProvider} class holder
+     * @param title     The GUI title using {@link String}
+     * @param rows      The GUI rows using {@link Integer} (rows * 9)
+     * @param mask      The {@link GuiMask} to use
+     **/
+    public PaneGui(ColorfulProvider<?> holder, String title, int rows, GuiMask mask) {
+        super(holder, title, rows, mask);
+    }
+
+    /**
+     * Renders the inventory.
+     * Every pane and the bottom layer are composed again, only slots whose stack changed are written.
+     **/
+    @Override
+    public void render() {
+        GuiRenderEvent event = new GuiRenderEvent();
+        event.begin();
+        long start = GuiMetrics.start();
+        resetRenderedSlots();
+
+        Inventory inventory = getInventory();
+        if (shownInventory != inventory) {
+            inventory.clear();
+            shown = new ItemStack[inventory.getSize()];
+            composite = new GuiItem[inventory.getSize()];
+            shownInventory = inventory;
+            getItemIndex().clear();
+        }
+        baseDirty = true;
+        composeAll();
+
+        GuiMetrics.recordRender(start, getRenderedSlots());
+
+        if (event.shouldCommit()) {
+            event.setGui(this);
+            event.slots = getRenderedSlots();
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the panes that changed since the last flush.
+     * Only the slots covered by a dirty pane are composed again, the other panes are not touched.
+     **/
+    public void update() {
+        if (shownInventory != getInventory()) {
+            render();
+            return;
+        }
+        if (!baseDirty && dirtyPanes.isEmpty()) return;
+
+        long start = GuiMetrics.start();
+        resetRenderedSlots();
+        if (baseDirty) {
+            composeAll();
+        } else {
+            for (Pane pane : dirtyPanes) {
+                for (int row = 0; row < pane.getHeight(); row++) {
+                    for (int column = 0; column < pane.getWidth(); column++) {
+                        int slot = pane.slotOf(column, row);
+                        if (slot < composite.length) compose(slot);
+                    }
+                }
+            }
+            dirtyPanes.clear();
+            markShownFrames();
+        }
+        GuiMetrics.recordRender(start, getRenderedSlots());
+    }
+
+    /**
+     * Writes only what queued changes touched
+     **/
+    @Override
+    protected void refresh() {
+        update();
+    }
+
+    /**
+     * Displays the inventory to the specified {@link Player}.
+     *
+     * @param player    The player to whom the inventory will be displayed
+     **/
+    @Override
+    public void show(Player player) {
+        shownInventory = null;
+        render();
+        player.openInventory(getInventory());
+    }
+
+    /**
+     * Adds a pane, it is drawn on the next {@link #update()} or {@link #render()}.
+     * Panes with the same priority are drawn in the order they were added, the first one on top.
+     *
+     * @param pane  The {@link Pane} to add
+     **/
+    public void addPane(Pane pane) {
+        if (pane.getGui() != null && pane.getGui() != this) {
+            throw new IllegalStateException("The pane already belongs to another GUI");
+        }
+        if (panes.contains(pane)) return;
+        pane.setGui(this);
+        panes.add(pane);
+        sortPanes();
+        pane.markDirty();
+    }
+
+    /**
+     * Removes a pane, the slots it covered are composed again from the panes below.
+     *
+     * @param pane  The {@link Pane} to remove
+     **/
+    public void removePane(Pane pane) {
+        if (!panes.remove(pane)) return;
+        // stays dirty until the next flush, so its slots are composed without it
+        dirtyPanes.add(pane);
+        pane.setGui(null);
+    }
+
+    /**
+     * Orders the panes by priority, called when a pane changes its priority
+     **/
+    public void sortPanes() {
+        panes.sort(Comparator.comparingInt(Pane::getPriority).reversed());
+    }
+
+    /**
+     * Marks a pane as changed, called by {@link Pane#markDirty()}
+     *
+     * @param pane  The changed {@link Pane}
+     **/
+    public void markDirty(Pane pane) {
+        dirtyPanes.add(pane);
+    }
+
+    /**
+     * Draws the mask into the bottom layer.
+     * Unlike {@link Gui#drawMask(Inventory)} the mask items are not copied into the set items.
+     *
+     * @param inventory     The {@link Inventory} to draw the mask for
+     **/
+    @Override
+    public void drawMask(Inventory inventory) {
+        if (base == null) return;
+        getMask().getMaskItems().forEach((value, item) -> {
+            for (int slot : getMask().slots(value)) {
+                if (slot < base.length) base[slot] = item;
+            }
+        });
+    }
+
+    /**
+     * Adds {@link GuiItem} to the bottom layer
+     *
+     * @param slot      The slot using {@link Integer}
+     * @param item      The {@link GuiItem} to add
+     **/
+    @Override
+    public void setItem(int slot, GuiItem item) {
+        super.setItem(slot, item);
+        baseDirty = true;
+    }
+
+    /**
+     * Removes the {@link GuiItem} set in a slot of the bottom layer
+     *
+     * @param slot      The slot using {@link Integer}
+     * @return return's the removed {@link GuiItem}, or null if nothing was set in the slot
+     **/
+    @Override
+    public GuiItem removeSetItem(int slot) {
+        GuiItem item = super.removeSetItem(slot);
+        if (item != null) baseDirty = true;
+        return item;
+    }
+
+    /**
+     * Adds {@link GuiItem} to the free slots of the bottom layer, slots covered by a pane are skipped
+     *
+     * @param item      The {@link GuiItem} to add
+     **/
+    @Override
+    public void addItem(GuiItem item) {
+        super.addItem(item);
+        baseDirty = true;
+    }
+
+    /**
+     * Adds many {@link GuiItem}s to the free slots of the bottom layer at once
+     *
+     * @param items     The items to add, in order
+     **/
+    @Override
+    public void addItems(Collection<? extends GuiItem> items) {
+        super.addItems(items);
+        baseDirty = true;
+    }
+
+    /**
+     * Removes the specified {@link GuiItem} from the bottom layer.
+     * Items of a pane are removed through the pane.
+     *
+     * @param item  The item to be removed
+     **/
+    @Override
+    public void removeItem(GuiItem item) {
+        super.removeItem(item);
+        baseDirty = true;
+        // the inventory was written directly, the shown stacks are no longer known
+        shownInventory = null;
+    }
+
+    /**
+     * Updating {@link GuiItem} in GUI
+     *
+     * @param item  The {@link GuiItem} to update
+     **/
+    @Override
+    public void updateItem(GuiItem item) {
+        Integer slot = getItemIndex().get(item.getUniqueId());
+        if (slot == null || shownInventory != getInventory()) return;
+        // the stack may have been changed in place, so it is written even if the reference is the same
+        shown[slot] = null;
+        write(slot, item.getItemStack());
+    }
+
+    /**
+     * Writes the panes that changed since the last flush and the slots of the updated items.
+     * The updated slots are written even if their stack is the same, other slots are not composed again.
+     *
+     * @param items     The items whose update handler ran
+     **/
+    @Override
+    public void showUpdated(Collection<? extends GuiItem> items) {
+        if (shownInventory != getInventory()) {
+            render();
+            return;
+        }
+        // the stacks may have been changed in place, so their slots are written even if the reference is the same
+        for (GuiItem item : items) {
+            Integer slot = getItemIndex().get(item.getUniqueId());
+            if (slot != null) shown[slot] = null;
+        }
+        update();
+        for (GuiItem item : items) {
+            Integer slot = getItemIndex().get(item.getUniqueId());
+            if (slot != null && shown[slot] == null) write(slot, item.getItemStack());
+        }
+    }
+
+    /**
+     * Searching {@link GuiItem} from {@link UUID}, shown items first
+     *
+     * @param uuid      The {@link GuiItem}'s uniqueId using {@link UUID}
+     * @return returning nothing, if {@link GuiItem} not found
+     **/
+    @Override
+    public GuiItem getItem(UUID uuid) {
+        Integer slot = getItemIndex().get(uuid);
+        if (slot != null && composite != null) {
+            GuiItem item = composite[slot];
+            if (item != null && item.getUniqueId().equals(uuid)) return item;
+        }
+        return super.getItem(uuid);
+    }
+
+    /**
+     * Get method for the items the update task should update, only shown items are included
+     *
+     * @return return's {@link List} with {@link GuiItem} value
+     **/
+    @Override
+    public List<GuiItem> getUpdatableItems() {
+        List<GuiItem> items = new ArrayList<GuiItem>();
+        if (composite == null) return items;
+        Set<UUID> seen = new HashSet<UUID>();
+        for (GuiItem item : composite) {
+            if (item != null && seen.add(item.getUniqueId())) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public void collectFootprint(GuiFootprint footprint) {
+        super.collectFootprint(footprint);
+        for (Pane pane : panes) {
+            footprint.addSlots(pane.getSize());
+            for (GuiItem item : pane.frame()) {
+                if (item == null) continue;
+                footprint.addItems(1);
+                footprint.addItemStack(item.getItemStack());
+            }
+        }
+    }
+
+    private void composeAll() {
+        rebuildBase();
+        for (int slot = 0; slot < composite.length; slot++) {
+            compose(slot);
+        }
+        dirtyPanes.clear();
+        markShownFrames();
+    }
+
+    private void rebuildBase() {
+        base = new GuiItem[getInventory().getSize()];
+        drawMask();
+        getSetItems().forEach((slot, item) -> {
+            if (slot < base.length) base[slot] = item;
+        });
+        Iterator<GuiItem> added = getAddItems().iterator();
+        for (int slot = 0; slot < base.length && added.hasNext(); slot++) {
+            if (base[slot] != null || isCovered(slot)) continue;
+            base[slot] = added.next();
+        }
+        baseDirty = false;
+    }
+
+    private boolean isCovered(int slot) {
+        for (Pane pane : panes) {
+            if (pane.contains(slot)) return true;
+        }
+        return false;
+    }
+
+    private void compose(int slot) {
+        GuiItem item = null;
+        for (Pane pane : panes) {
+            if (!pane.isVisible() || !pane.contains(slot)) continue;
+            item = pane.itemAt(slot);
+            if (item != null) break;
+        }
+        if (item == null) item = base[slot];
+
+        GuiItem previous = composite[slot];
+        if (previous != null && previous != item) {
+            getItemIndex().remove(previous.getUniqueId(), slot);
+        }
+        composite[slot] = item;
+        if (item != null) {
+            getItemIndex().put(item.getUniqueId(), slot);
+            trackAnimation(item);
+        }
+        write(slot, item != null ? item.getItemStack() : null);
+    }
+
+    private void write(int slot, ItemStack itemStack) {
+        if (shown[slot] == itemStack) return;
+        shown[slot] = itemStack;
+        writeSlot(slot, itemStack);
+    }
+
+    /**
+     * Retrieves the panes, ordered from the top one to the bottom one.
+     *
+     * @return An unmodifiable view of the panes
+     **/
+    public List<Pane> getPanes() {
+        return Collections.unmodifiableList(panes);
+    }
+
+}
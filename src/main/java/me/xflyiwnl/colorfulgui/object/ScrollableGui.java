@@ -0,0 +1,455 @@
+package me.xflyiwnl.colorfulgui.object;
+
+import me.xflyiwnl.colorfulgui.jfr.GuiRenderEvent;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import me.xflyiwnl.colorfulgui.session.GuiSession;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+public class ScrollableGui extends Gui {
+
+    /**
+     * Direction the content scrolls in.
+     */
+    public enum Orientation {
+        // moves one row at a time, items fill the rows left to right
+        VERTICAL,
+        // moves one column at a time, items fill the columns top to bottom
+        HORIZONTAL
+    }
+
+    private final Orientation orientation;
+
+    // backing list of the scrolled items, indexed access
+    private final List<GuiItem> content = new ArrayList<GuiItem>();
+
+    // visible lines (rows or columns), each one holds its slots
+    private int[][] lines;
+    // items per line
+    private int width;
+
+    // ring buffer of the visible window, ring[(head + i) % lines] is visible line i
+    private GuiItem[][] ring;
+    private int head = 0;
+    // first visible line of the content
+    private int offset = 0;
+    // false when the content changed and the window has to be filled again
+    private boolean ringValid = false;
+
+    // visible content items by unique id
+    private final Map<UUID, GuiItem> visible = new HashMap<UUID, GuiItem>();
+    // stacks currently written in the inventory, compared by identity
+    private ItemStack[] shown;
+    // stacks the next render writes, reused between renders
+    private ItemStack[] target;
+    // inventory the shown stacks belong to
+    private Inventory shownInventory;
+
+    /**
+     * The main constructor for initialize inventory, has super
+     *
+     * @param holder      The {@link ColorfulProvider} class holder
+     * @param title       The GUI title using {@link String}
+     * @param rows        The GUI rows using {@link Integer} (rows * 9)
+     * @param mask        The {@link GuiMask} to use
+     * @param orientation The {@link Orientation} to scroll in
+     **/
+    public ScrollableGui(ColorfulProvider<?> holder, String title, int rows, GuiMask mask, Orientation orientation) {
+        super(holder, title, rows, mask);
+        this.orientation = orientation;
+    }
+
+    /**
+     * Renders the inventory.
+     * Only slots whose stack changed since the last render are written.
+     **/
+    @Override
+    public void render() {
+        GuiRenderEvent event = new GuiRenderEvent();
+        event.begin();
+        long start = GuiMetrics.start();
+        resetRenderedSlots();
+        drawMask();
+        if (lines == null) calculateViewport();
+
+        Inventory inventory = getInventory();
+        if (shownInventory != inventory) {
+            inventory.clear();
+            shown = new ItemStack[inventory.getSize()];
+            target = new ItemStack[inventory.getSize()];
+            shownInventory = inventory;
+        }
+        if (!ringValid) fillRing();
+
+        Arrays.fill(target, null);
+        getItemIndex().clear();
+        getSetItems().forEach((slot, item) -> {
+            target[slot] = item.getItemStack();
+            getItemIndex().put(item.getUniqueId(), slot);
+        });
+        collectWindow(target);
+
+        for (int slot = 0; slot < target.length; slot++) {
+            write(slot, target[slot]);
+        }
+        markShownFrames();
+
+        GuiMetrics.recordRender(start, getRenderedSlots());
+
+        if (event.shouldCommit()) {
+            event.setGui(this);
+            event.slots = getRenderedSlots();
+            event.commit();
+        }
+    }
+
+    /**
+     * Displays the inventory to the specified {@link Player}.
+     *
+     * @param player    The player to whom the inventory will be displayed
+     **/
+    @Override
+    public void show(Player player) {
+        shownInventory = null;
+        render();
+        player.openInventory(getInventory());
+    }
+
+    /**
+     * Scrolls by a number of lines, positive values scroll down or right.
+     * Only the newly exposed lines are filled, the other lines move through the ring buffer,
+     * and only slots whose stack changed are written.
+     *
+     * @param delta The number of lines to scroll
+     **/
+    public void scroll(int delta) {
+        if (lines == null || !ringValid || shownInventory != getInventory()) {
+            offset = clamp(offset + delta);
+            ringValid = false;
+            render();
+            return;
+        }
+
+        int target = clamp(offset + delta);
+        int steps = target - offset;
+        if (steps == 0) return;
+
+        if (Math.abs(steps) >= lines.length) {
+            offset = target;
+            fillRing();
+        } else {
+            while (steps > 0) {
+                // the top line leaves the window and is reused for the new bottom line
+                fillLine(ring[head], offset + lines.length);
+                head = (head + 1) % lines.length;
+                offset++;
+                steps--;
+            }
+            while (steps < 0) {
+                head = (head - 1 + lines.length) % lines.length;
+                fillLine(ring[head], offset - 1);
+                offset--;
+                steps++;
+            }
+        }
+        flushWindow();
+    }
+
+    /**
+     * Scrolls one line down or right.
+     **/
+    public void next() {
+        scroll(1);
+    }
+
+    /**
+     * Scrolls one line up or left.
+     **/
+    public void previous() {
+        scroll(-1);
+    }
+
+    /**
+     * Scrolls to a line.
+     *
+     * @param line The first visible line
+     **/
+    public void scrollTo(int line) {
+        scroll(line - offset);
+    }
+
+    /**
+     * Adds {@link GuiItem} to the scrolled content
+     *
+     * @param item  The {@link GuiItem} to add
+     **/
+    @Override
+    public void addItem(GuiItem item) {
+        super.addItem(item);
+        content.add(item);
+        ringValid = false;
+    }
+
+    /**
+     * Adds many {@link GuiItem}s to the scrolled content at once, the window is filled again once
+     *
+     * @param items     The items to add, in order
+     **/
+    @Override
+    public void addItems(Collection<? extends GuiItem> items) {
+        super.addItems(items);
+        content.addAll(items);
+        ringValid = false;
+    }
+
+    /**
+     * Removes the specified {@link GuiItem} from the {@link ScrollableGui}.
+     *
+     * @param item  The item to be removed
+     **/
+    @Override
+    public void removeItem(GuiItem item) {
+        super.removeItem(item);
+        content.removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()));
+        visible.remove(item.getUniqueId());
+        ringValid = false;
+        // the inventory was written directly, the shown stacks are no longer known
+        shownInventory = null;
+    }
+
+    /**
+     * Updating {@link GuiItem} in GUI
+     *
+     * @param item  The {@link GuiItem} to update
+     **/
+    @Override
+    public void updateItem(GuiItem item) {
+        Integer slot = getItemIndex().get(item.getUniqueId());
+        if (slot == null || shownInventory != getInventory()) return;
+        // the stack may have been changed in place, so it is written even if the reference is the same
+        shown[slot] = null;
+        write(slot, item.getItemStack());
+    }
+
+    /**
+     * Renders the inventory, the slots of the updated items are written even if their stack is the same
+     *
+     * @param items     The items whose update handler ran
+     **/
+    @Override
+    public void showUpdated(Collection<? extends GuiItem> items) {
+        if (shownInventory == getInventory()) {
+            for (GuiItem item : items) {
+                Integer slot = getItemIndex().get(item.getUniqueId());
+                if (slot != null) shown[slot] = null;
+            }
+        }
+        render();
+    }
+
+    /**
+     * Searching {@link GuiItem} from {@link UUID}, visible items first
+     *
+     * @param uuid      The {@link GuiItem}'s uniqueId using {@link UUID}
+     * @return returning nothing, if {@link GuiItem} not found
+     **/
+    @Override
+    public GuiItem getItem(UUID uuid) {
+        GuiItem item = visible.get(uuid);
+        return item != null ? item : super.getItem(uuid);
+    }
+
+    /**
+     * Get method for the items the update task should update, only visible content is included
+     *
+     * @return return's {@link List} with {@link GuiItem} value
+     **/
+    @Override
+    public List<GuiItem> getUpdatableItems() {
+        List<GuiItem> items = new ArrayList<GuiItem>(getSetItems().size() + visible.size());
+        items.addAll(getSetItems().values());
+        items.addAll(visible.values());
+        return items;
+    }
+
+    /**
+     * Saves the scroll offset.
+     *
+     * @param session   The {@link GuiSession} to fill
+     **/
+    @Override
+    public void saveSession(GuiSession session) {
+        session.setOffset(offset);
+    }
+
+    /**
+     * Restores the scroll offset, it is clamped when the GUI is rendered.
+     *
+     * @param session   The saved {@link GuiSession}
+     **/
+    @Override
+    public void restoreSession(GuiSession session) {
+        offset = session.getOffset();
+        ringValid = false;
+    }
+
+    /**
+     * Calculates the visible lines from the slots not used by the mask and set items
+     **/
+    protected void calculateViewport() {
+        Set<Integer> taken = new HashSet<Integer>(getMask().slots());
+        taken.addAll(getSetItems().keySet());
+
+        int size = getInventory().getSize();
+        TreeMap<Integer, List<Integer>> grouped = new TreeMap<Integer, List<Integer>>();
+        for (int slot = 0; slot < size; slot++) {
+            if (taken.contains(slot)) continue;
+            int key = orientation == Orientation.VERTICAL ? slot / 9 : slot % 9;
+            grouped.computeIfAbsent(key, k -> new ArrayList<Integer>()).add(slot);
+        }
+
+        lines = new int[grouped.size()][];
+        int i = 0;
+        for (List<Integer> slots : grouped.values()) {
+            lines[i] = slots.stream().mapToInt(Integer::intValue).toArray();
+            if (lines[i].length != lines[0].length) {
+                throw new IllegalStateException("The scroll area of a ScrollableGui must be rectangular");
+            }
+            i++;
+        }
+        width = lines.length > 0 ? lines[0].length : 0;
+        ring = new GuiItem[lines.length][width];
+        head = 0;
+        ringValid = false;
+    }
+
+    private void fillRing() {
+        offset = clamp(offset);
+        head = 0;
+        visible.clear();
+        for (int i = 0; i < lines.length; i++) {
+            Arrays.fill(ring[i], null);
+            fillLine(ring[i], offset + i);
+        }
+        ringValid = true;
+    }
+
+    private void fillLine(GuiItem[] line, int index) {
+        for (int position = 0; position < width; position++) {
+            GuiItem leaving = line[position];
+            if (leaving != null) {
+                visible.remove(leaving.getUniqueId());
+                getItemIndex().remove(leaving.getUniqueId());
+            }
+            int contentIndex = index * width + position;
+            GuiItem item = index >= 0 && contentIndex < content.size() ? content.get(contentIndex) : null;
+            line[position] = item;
+            if (item != null) {
+                visible.put(item.getUniqueId(), item);
+            }
+        }
+    }
+
+    private void collectWindow(ItemStack[] target) {
+        for (int i = 0; i < lines.length; i++) {
+            GuiItem[] line = ring[(head + i) % lines.length];
+            for (int position = 0; position < width; position++) {
+                GuiItem item = line[position];
+                int slot = lines[i][position];
+                if (item != null) {
+                    target[slot] = item.getItemStack();
+                    getItemIndex().put(item.getUniqueId(), slot);
+                }
+            }
+        }
+    }
+
+    private void flushWindow() {
+        resetRenderedSlots();
+        for (int i = 0; i < lines.length; i++) {
+            GuiItem[] line = ring[(head + i) % lines.length];
+            for (int position = 0; position < width; position++) {
+                GuiItem item = line[position];
+                int slot = lines[i][position];
+                if (item != null) {
+                    getItemIndex().put(item.getUniqueId(), slot);
+                    write(slot, item.getItemStack());
+                } else {
+                    write(slot, null);
+                }
+            }
+        }
+        markShownFrames();
+    }
+
+    private void write(int slot, ItemStack itemStack) {
+        if (shown[slot] == itemStack) return;
+        shown[slot] = itemStack;
+        writeSlot(slot, itemStack);
+    }
+
+    private int clamp(int line) {
+        return Math.max(0, Math.min(line, getMaxOffset()));
+    }
+
+    /**
+     * Retrieves the first visible line.
+     *
+     * @return The scroll offset in lines
+     **/
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Retrieves the last possible first visible line.
+     *
+     * @return The maximum scroll offset in lines
+     **/
+    public int getMaxOffset() {
+        if (lines == null || width == 0) return 0;
+        int total = (content.size() + width - 1) / width;
+        return Math.max(0, total - lines.length);
+    }
+
+    /**
+     * Checks if the content can scroll further down or right.
+     *
+     * @return True if there are lines after the window
+     **/
+    public boolean hasNext() {
+        return offset < getMaxOffset();
+    }
+
+    /**
+     * Checks if the content can scroll further up or left.
+     *
+     * @return True if there are lines before the window
+     **/
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    /**
+     * Retrieves the scrolled items.
+     *
+     * @return An unmodifiable view of the content
+     **/
+    public List<GuiItem> getContent() {
+        return Collections.unmodifiableList(content);
+    }
+
+    /**
+     * Retrieves the scroll direction.
+     *
+     * @return The {@link Orientation}
+     **/
+    public Orientation getOrientation() {
+        return orientation;
+    }
+
+}
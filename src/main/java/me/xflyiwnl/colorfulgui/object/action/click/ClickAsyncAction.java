@@ -0,0 +1,24 @@
+package me.xflyiwnl.colorfulgui.object.action.click;
+
+import me.xflyiwnl.colorfulgui.object.event.click.ClickAsyncItemEvent;
+
+/**
+ * Interface for defining click actions that run off the main thread.
+ * The action runs on a virtual thread, so it may block on a database or a web request,
+ * but it must not touch the Bukkit API. Changes to the GUI or the player are returned
+ * as a {@link ClickContinuation} and applied on the main thread afterwards.
+ * The clicked item ignores further clicks until the continuation was applied.
+ */
+@FunctionalInterface
+public interface ClickAsyncAction {
+
+    /**
+     * Executes the action when the item is clicked.
+     *
+     * @param event The snapshot of the click
+     * @return The continuation to apply on the main thread, or null for none
+     * @throws Exception If the action fails, the error is logged and no continuation is applied
+     */
+    ClickContinuation execute(ClickAsyncItemEvent event) throws Exception;
+
+}
@@ -0,0 +1,85 @@
+package me.xflyiwnl.colorfulgui.object.action.click;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.entity.Player;
+
+import java.util.function.Consumer;
+
+/**
+ * The main thread part of a {@link ClickAsyncAction}.
+ * It is only applied if the clicking player is still online.
+ */
+@FunctionalInterface
+public interface ClickContinuation {
+
+    /**
+     * Applies the continuation on the main thread.
+     *
+     * @param provider The provider of the clicked GUI
+     * @param player   The clicking player
+     */
+    void apply(ColorfulProvider<?> provider, Player player);
+
+    /**
+     * Applies this continuation, then another one.
+     *
+     * @param next The continuation to apply afterwards
+     * @return The combined continuation
+     */
+    default ClickContinuation andThen(ClickContinuation next) {
+        return (provider, player) -> {
+            apply(provider, player);
+            next.apply(provider, player);
+        };
+    }
+
+    /**
+     * A continuation that does nothing.
+     *
+     * @return The continuation
+     */
+    static ClickContinuation none() {
+        return (provider, player) -> {
+        };
+    }
+
+    /**
+     * Closes the inventory of the player.
+     *
+     * @return The continuation
+     */
+    static ClickContinuation close() {
+        return (provider, player) -> player.closeInventory();
+    }
+
+    /**
+     * Writes the current {@link org.bukkit.inventory.ItemStack} of an item into the GUI.
+     *
+     * @param item The item to update
+     * @return The continuation
+     */
+    static ClickContinuation update(GuiItem item) {
+        return (provider, player) -> provider.getGui().updateItem(item);
+    }
+
+    /**
+     * Renders the whole GUI again.
+     *
+     * @return The continuation
+     */
+    static ClickContinuation render() {
+        return (provider, player) -> provider.getGui().render();
+    }
+
+    /**
+     * Runs code with the player on the main thread, for example to open another GUI.
+     *
+     * @param consumer The code to run
+     * @return The continuation
+     */
+    static ClickContinuation run(Consumer<Player> consumer) {
+        return (provider, player) -> consumer.accept(player);
+    }
+
+}
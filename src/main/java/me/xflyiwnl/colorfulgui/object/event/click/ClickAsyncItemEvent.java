@@ -0,0 +1,135 @@
+package me.xflyiwnl.colorfulgui.object.event.click;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * Snapshot of a GUI item click, handed to a {@link me.xflyiwnl.colorfulgui.object.action.click.ClickAsyncAction}.
+ * It is taken on the main thread and holds no Bukkit objects that are unsafe to read
+ * from another thread: the player is referenced by id and the cursor is a copy.
+ */
+public class ClickAsyncItemEvent {
+
+    private final GuiItem currentItem;
+    private final UUID playerId;
+    private final String playerName;
+    private final InventoryAction action;
+    private final ClickType click;
+    private final ItemStack cursor;
+    private final int slot;
+    private final int rawSlot;
+    private final InventoryType.SlotType slotType;
+
+    /**
+     * Creates a new ClickAsyncItemEvent with the specified parameters.
+     *
+     * @param currentItem The GUI item that was clicked
+     * @param playerId The unique id of the clicking player
+     * @param playerName The name of the clicking player
+     * @param action The inventory action that was performed
+     * @param click The type of click that occurred
+     * @param cursor A copy of the item stack on the cursor
+     * @param slot The slot that was clicked
+     * @param rawSlot The raw slot that was clicked
+     * @param slotType The type of slot that was clicked
+     */
+    public ClickAsyncItemEvent(GuiItem currentItem, UUID playerId, String playerName, InventoryAction action, ClickType click, ItemStack cursor, int slot, int rawSlot, InventoryType.SlotType slotType) {
+        this.currentItem = currentItem;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.action = action;
+        this.click = click;
+        this.cursor = cursor;
+        this.slot = slot;
+        this.rawSlot = rawSlot;
+        this.slotType = slotType;
+    }
+
+    /**
+     * Gets the GUI item that was clicked.
+     * The item is locked while the action is running, but it is still owned by the main thread.
+     *
+     * @return The clicked GUI item
+     */
+    public GuiItem getCurrentItem() {
+        return currentItem;
+    }
+
+    /**
+     * Gets the unique id of the clicking player.
+     *
+     * @return The player id
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the name of the clicking player.
+     *
+     * @return The player name
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Gets the inventory action that was performed.
+     *
+     * @return The inventory action
+     */
+    public InventoryAction getAction() {
+        return action;
+    }
+
+    /**
+     * Gets the type of click that occurred.
+     *
+     * @return The click type
+     */
+    public ClickType getClick() {
+        return click;
+    }
+
+    /**
+     * Gets a copy of the item stack on the cursor.
+     *
+     * @return The cursor item stack, or null
+     */
+    public ItemStack getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Gets the slot that was clicked.
+     *
+     * @return The clicked slot number
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the raw slot that was clicked.
+     *
+     * @return The clicked raw slot number
+     */
+    public int getRawSlot() {
+        return rawSlot;
+    }
+
+    /**
+     * Gets the type of slot that was clicked.
+     *
+     * @return The slot type
+     */
+    public InventoryType.SlotType getSlotType() {
+        return slotType;
+    }
+
+}
@@ -0,0 +1,135 @@
+package me.xflyiwnl.colorfulgui.object.pane;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pane that shows a list of items one page at a time.
+ * Turning a page only redraws this pane.
+ */
+public class PaginatedPane extends Pane {
+
+    private final List<GuiItem> items = new ArrayList<>();
+    // zero based
+    private int page = 0;
+
+    /**
+     * Creates a paginated pane.
+     *
+     * @param x        The column of the top left corner, 0 to 8
+     * @param y        The row of the top left corner
+     * @param width    The number of columns
+     * @param height   The number of rows
+     * @param priority The z-order, higher panes cover lower ones
+     **/
+    public PaginatedPane(int x, int y, int width, int height, int priority) {
+        super(x, y, width, height, priority);
+    }
+
+    @Override
+    protected void draw(GuiItem[] frame) {
+        int from = page * getSize();
+        int to = Math.min(items.size(), from + getSize());
+        for (int i = from; i < to; i++) {
+            frame[i - from] = items.get(i);
+        }
+    }
+
+    /**
+     * Adds an item after the existing ones.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public PaginatedPane addItem(GuiItem item) {
+        items.add(item);
+        if (items.size() > page * getSize() && items.size() <= (page + 1) * getSize()) {
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Adds items after the existing ones.
+     *
+     * @param items The items
+     * @return This pane
+     **/
+    public PaginatedPane addItems(Collection<? extends GuiItem> items) {
+        this.items.addAll(items);
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Removes an item.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public PaginatedPane removeItem(GuiItem item) {
+        if (items.removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()))) {
+            page = Math.min(page, getMaxPage() - 1);
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Shows a page and writes the pane.
+     *
+     * @param page The page, starting at 1
+     * @return True if the page exists
+     **/
+    public boolean setPage(int page) {
+        if (page < 1 || page > getMaxPage()) return false;
+        if (page - 1 == this.page) return true;
+        this.page = page - 1;
+        update();
+        return true;
+    }
+
+    /**
+     * Shows the next page.
+     *
+     * @return True if there was a next page
+     **/
+    public boolean next() {
+        return setPage(getCurrentPage() + 1);
+    }
+
+    /**
+     * Shows the previous page.
+     *
+     * @return True if there was a previous page
+     **/
+    public boolean previous() {
+        return setPage(getCurrentPage() - 1);
+    }
+
+    /**
+     * Retrieves the current page.
+     *
+     * @return The page, starting at 1
+     **/
+    public int getCurrentPage() {
+        return page + 1;
+    }
+
+    /**
+     * Retrieves the number of pages.
+     *
+     * @return The page count, at least 1
+     **/
+    public int getMaxPage() {
+        return Math.max(1, (items.size() + getSize() - 1) / getSize());
+    }
+
+    public List<GuiItem> getItems() {
+        return items;
+    }
+
+}
@@ -0,0 +1,199 @@
+package me.xflyiwnl.colorfulgui.object.pane;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.object.PaneGui;
+
+import java.util.Arrays;
+
+/**
+ * Rectangular region of a {@link PaneGui} with its own state.
+ * A pane draws its items into a cached frame that is only rebuilt when the pane
+ * is marked dirty; the GUI then recomposes and writes only the slots the pane covers.
+ * Panes with a higher priority are drawn on top of lower ones.
+ */
+public abstract class Pane {
+
+    // position of the top left corner
+    private final int x;
+    private final int y;
+    // size in columns and rows
+    private final int width;
+    private final int height;
+
+    // z-order, higher panes cover lower ones
+    private int priority;
+    private boolean visible = true;
+
+    // cached items of the pane, index is row * width + column
+    private final GuiItem[] frame;
+    private boolean dirty = true;
+
+    // GUI the pane was added to
+    private PaneGui gui;
+
+    /**
+     * Creates a pane.
+     *
+     * @param x        The column of the top left corner, 0 to 8
+     * @param y        The row of the top left corner
+     * @param width    The number of columns
+     * @param height   The number of rows
+     * @param priority The z-order, higher panes cover lower ones
+     **/
+    protected Pane(int x, int y, int width, int height, int priority) {
+        if (x < 0 || y < 0 || width < 1 || height < 1 || x + width > 9) {
+            throw new IllegalArgumentException("Invalid pane bounds " + x + "," + y + " " + width + "x" + height);
+        }
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.priority = priority;
+        this.frame = new GuiItem[width * height];
+    }
+
+    /**
+     * Draws the items of the pane.
+     * Called only when the pane is dirty; every cell that is not set stays empty.
+     *
+     * @param frame The cells to fill, index is row * width + column
+     **/
+    protected abstract void draw(GuiItem[] frame);
+
+    /**
+     * Retrieves the cached frame, drawing it again if the pane is dirty.
+     *
+     * @return The cells of the pane
+     **/
+    public GuiItem[] frame() {
+        if (dirty) {
+            Arrays.fill(frame, null);
+            draw(frame);
+            dirty = false;
+        }
+        return frame;
+    }
+
+    /**
+     * Retrieves the item of a cell.
+     *
+     * @param slot The inventory slot
+     * @return The item, or null if the cell is empty or the slot is outside the pane
+     **/
+    public GuiItem itemAt(int slot) {
+        if (!contains(slot)) return null;
+        return frame()[(slot / 9 - y) * width + slot % 9 - x];
+    }
+
+    /**
+     * Checks if a slot is inside the pane.
+     *
+     * @param slot The inventory slot
+     * @return True if the pane covers the slot
+     **/
+    public boolean contains(int slot) {
+        int row = slot / 9;
+        int col = slot % 9;
+        return row >= y && row < y + height && col >= x && col < x + width;
+    }
+
+    /**
+     * Retrieves the inventory slot of a cell.
+     *
+     * @param column The column inside the pane
+     * @param row    The row inside the pane
+     * @return The inventory slot
+     **/
+    public int slotOf(int column, int row) {
+        return (y + row) * 9 + x + column;
+    }
+
+    /**
+     * Marks the pane as changed, so its frame is drawn again on the next update.
+     **/
+    public void markDirty() {
+        dirty = true;
+        if (gui != null) {
+            gui.markDirty(this);
+        }
+    }
+
+    /**
+     * Marks the pane as changed and writes it to the inventory right away.
+     **/
+    public void update() {
+        markDirty();
+        if (gui != null) {
+            gui.update();
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getSize() {
+        return width * height;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Changes the z-order of the pane.
+     *
+     * @param priority The z-order, higher panes cover lower ones
+     **/
+    public void setPriority(int priority) {
+        this.priority = priority;
+        if (gui != null) {
+            gui.sortPanes();
+        }
+        markDirty();
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Shows or hides the pane, hidden panes let lower panes show through.
+     *
+     * @param visible True to show the pane
+     **/
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        markDirty();
+    }
+
+    public PaneGui getGui() {
+        return gui;
+    }
+
+    /**
+     * Attaches the pane to a GUI, called by {@link PaneGui#addPane(Pane)}.
+     *
+     * @param gui The GUI, or null when the pane is removed
+     **/
+    public void setGui(PaneGui gui) {
+        this.gui = gui;
+    }
+
+}
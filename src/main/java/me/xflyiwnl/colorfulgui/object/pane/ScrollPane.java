@@ -0,0 +1,114 @@
+package me.xflyiwnl.colorfulgui.object.pane;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pane that scrolls a list of items one row at a time.
+ * The GUI writes only the slots whose item changed, so a scroll step
+ * costs at most one write per cell of this pane.
+ */
+public class ScrollPane extends Pane {
+
+    private final List<GuiItem> items = new ArrayList<>();
+    // first visible row of the items
+    private int offset = 0;
+
+    /**
+     * Creates a scroll pane.
+     *
+     * @param x        The column of the top left corner, 0 to 8
+     * @param y        The row of the top left corner
+     * @param width    The number of columns
+     * @param height   The number of rows
+     * @param priority The z-order, higher panes cover lower ones
+     **/
+    public ScrollPane(int x, int y, int width, int height, int priority) {
+        super(x, y, width, height, priority);
+    }
+
+    @Override
+    protected void draw(GuiItem[] frame) {
+        int from = offset * getWidth();
+        int to = Math.min(items.size(), from + getSize());
+        for (int i = from; i < to; i++) {
+            frame[i - from] = items.get(i);
+        }
+    }
+
+    /**
+     * Adds an item after the existing ones.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public ScrollPane addItem(GuiItem item) {
+        items.add(item);
+        if (items.size() <= (offset + getHeight()) * getWidth()) {
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Adds items after the existing ones.
+     *
+     * @param items The items
+     * @return This pane
+     **/
+    public ScrollPane addItems(Collection<? extends GuiItem> items) {
+        this.items.addAll(items);
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Removes an item.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public ScrollPane removeItem(GuiItem item) {
+        if (items.removeIf(guiItem -> guiItem.getUniqueId().equals(item.getUniqueId()))) {
+            offset = Math.min(offset, getMaxOffset());
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Scrolls by a number of rows and writes the pane.
+     *
+     * @param rows The rows to scroll, positive values scroll down
+     * @return True if the pane moved
+     **/
+    public boolean scroll(int rows) {
+        int target = Math.max(0, Math.min(offset + rows, getMaxOffset()));
+        if (target == offset) return false;
+        offset = target;
+        update();
+        return true;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Retrieves the last possible first visible row.
+     *
+     * @return The maximum offset in rows
+     **/
+    public int getMaxOffset() {
+        int rows = (items.size() + getWidth() - 1) / getWidth();
+        return Math.max(0, rows - getHeight());
+    }
+
+    public List<GuiItem> getItems() {
+        return items;
+    }
+
+}
@@ -0,0 +1,108 @@
+package me.xflyiwnl.colorfulgui.object.pane;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pane with items at fixed positions, for borders and toolbars.
+ */
+public class StaticPane extends Pane {
+
+    // cell index -> item
+    private final Map<Integer, GuiItem> items = new HashMap<>();
+
+    /**
+     * Creates a static pane.
+     *
+     * @param x        The column of the top left corner, 0 to 8
+     * @param y        The row of the top left corner
+     * @param width    The number of columns
+     * @param height   The number of rows
+     * @param priority The z-order, higher panes cover lower ones
+     **/
+    public StaticPane(int x, int y, int width, int height, int priority) {
+        super(x, y, width, height, priority);
+    }
+
+    @Override
+    protected void draw(GuiItem[] frame) {
+        items.forEach((index, item) -> frame[index] = item);
+    }
+
+    /**
+     * Sets an item in a cell.
+     *
+     * @param column The column inside the pane
+     * @param row    The row inside the pane
+     * @param item   The item, or null to clear the cell
+     * @return This pane
+     **/
+    public StaticPane setItem(int column, int row, GuiItem item) {
+        if (column < 0 || column >= getWidth() || row < 0 || row >= getHeight()) {
+            throw new IndexOutOfBoundsException("Cell " + column + "," + row + " is outside the pane");
+        }
+        int index = row * getWidth() + column;
+        if (item == null) {
+            items.remove(index);
+        } else {
+            items.put(index, item);
+        }
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Fills every empty cell with an item.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public StaticPane fill(GuiItem item) {
+        for (int index = 0; index < getSize(); index++) {
+            items.putIfAbsent(index, item);
+        }
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Sets an item in every cell on the edge of the pane.
+     *
+     * @param item The item
+     * @return This pane
+     **/
+    public StaticPane border(GuiItem item) {
+        for (int row = 0; row < getHeight(); row++) {
+            for (int column = 0; column < getWidth(); column++) {
+                if (row == 0 || column == 0 || row == getHeight() - 1 || column == getWidth() - 1) {
+                    items.put(row * getWidth() + column, item);
+                }
+            }
+        }
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Removes every item.
+     *
+     * @return This pane
+     **/
+    public StaticPane clear() {
+        items.clear();
+        markDirty();
+        return this;
+    }
+
+    /**
+     * Retrieves the items of the pane.
+     *
+     * @return A map of cell index (row * width + column) to item
+     **/
+    public Map<Integer, GuiItem> getItems() {
+        return items;
+    }
+
+}
@@ -0,0 +1,206 @@
+package me.xflyiwnl.colorfulgui.object.search;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.util.ColorUtils;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+
+/**
+ * Immutable search index over the items of a paginated catalogue.
+ * Display names are stripped of colours, lowercased and split into trigrams;
+ * every trigram maps to the sorted positions of the items containing it.
+ * Category tags map to a {@link BitSet} of positions.
+ * The index holds no Bukkit state once built, so it can be queried from any thread.
+ */
+public final class CatalogIndex {
+
+    private final GuiItem[] items;
+    private final String[] names;
+    // trigram -> ascending item positions
+    private final Map<Long, int[]> trigrams;
+    // tag -> item positions
+    private final Map<String, BitSet> tags;
+
+    private CatalogIndex(GuiItem[] items, String[] names, Map<Long, int[]> trigrams, Map<String, BitSet> tags) {
+        this.items = items;
+        this.names = names;
+        this.trigrams = trigrams;
+        this.tags = tags;
+    }
+
+    /**
+     * Builds an index over items, in their current order.
+     *
+     * @param items The items of the catalogue
+     * @return The index
+     */
+    public static CatalogIndex build(Collection<? extends GuiItem> items) {
+        GuiItem[] array = items.toArray(new GuiItem[0]);
+        String[] names = new String[array.length];
+        Map<Long, Postings> postings = new HashMap<>();
+        Map<String, BitSet> tags = new HashMap<>();
+
+        for (int position = 0; position < array.length; position++) {
+            GuiItem item = array[position];
+            String name = normalize(nameOf(item.getItemStack()));
+            names[position] = name;
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                postings.computeIfAbsent(trigram(name, i), key -> new Postings()).add(position);
+            }
+            for (String tag : item.getTags()) {
+                tags.computeIfAbsent(tag, key -> new BitSet(array.length)).set(position);
+            }
+        }
+
+        Map<Long, int[]> trigrams = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((key, list) -> trigrams.put(key, list.toArray()));
+        return new CatalogIndex(array, names, trigrams, tags);
+    }
+
+    /**
+     * Finds the items whose name contains a text and which have every given tag.
+     * Only the candidates are computed here; matches are verified lazily
+     * as the {@link CatalogResult} is read, so the first page is ready long before the last one.
+     *
+     * @param text The text to search for, colours and case are ignored, may be empty
+     * @param tags The tags every match must have, may be empty
+     * @return The lazily evaluated result
+     */
+    public CatalogResult query(String text, Collection<String> tags) {
+        String needle = text == null ? "" : normalize(text).trim();
+
+        BitSet tagMask = null;
+        for (String tag : tags) {
+            BitSet set = this.tags.get(tag.toLowerCase(Locale.ROOT));
+            if (set == null) return CatalogResult.empty(this);
+            if (tagMask == null) {
+                tagMask = (BitSet) set.clone();
+            } else {
+                tagMask.and(set);
+            }
+        }
+
+        if (needle.length() < 3) {
+            // too short for trigrams, matches are common so a lazy scan stops early
+            return new CatalogResult(this, null, needle, tagMask);
+        }
+
+        List<int[]> lists = new ArrayList<>(needle.length() - 2);
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            int[] list = trigrams.get(trigram(needle, i));
+            if (list == null) return CatalogResult.empty(this);
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        // a single trigram is its own substring, no verification needed
+        return new CatalogResult(this, candidates, needle.length() == 3 ? "" : needle, tagMask);
+    }
+
+    /**
+     * Retrieves the number of indexed items.
+     *
+     * @return The item count
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Retrieves an indexed item.
+     *
+     * @param position The position of the item in the catalogue
+     * @return The item
+     */
+    public GuiItem get(int position) {
+        return items[position];
+    }
+
+    /**
+     * Retrieves the normalized name of an indexed item.
+     *
+     * @param position The position of the item in the catalogue
+     * @return The name without colours, in lowercase
+     */
+    public String getName(int position) {
+        return names[position];
+    }
+
+    /**
+     * Retrieves the indexed tags.
+     *
+     * @return An unmodifiable set of lowercase tags
+     */
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(tags.keySet());
+    }
+
+    /**
+     * Strips colours and lowercases a text the way names are indexed.
+     *
+     * @param text The text
+     * @return The normalized text
+     */
+    public static String normalize(String text) {
+        return ColorUtils.removeColors(text).toLowerCase(Locale.ROOT);
+    }
+
+    private static String nameOf(ItemStack itemStack) {
+        if (itemStack == null) return "";
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta != null && meta.hasDisplayName()) {
+            return meta.getDisplayName();
+        }
+        return itemStack.getType().name().replace('_', ' ');
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Growable list of ascending positions, a position is stored once.
+     */
+    private static final class Postings {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) return;
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+
+    }
+
+}
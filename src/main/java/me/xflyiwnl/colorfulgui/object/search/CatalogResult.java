@@ -0,0 +1,121 @@
+package me.xflyiwnl.colorfulgui.object.search;
+
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Lazily evaluated matches of a {@link CatalogIndex} query, in catalogue order.
+ * Candidates are verified only until the requested range is filled,
+ * so showing the first page does not walk the whole catalogue.
+ */
+public final class CatalogResult {
+
+    private final CatalogIndex index;
+    // candidate positions, null means every position
+    private final int[] candidates;
+    // text every name must contain, empty when the candidates need no check
+    private final String text;
+    // positions allowed by the tags, null means every position
+    private final BitSet tagMask;
+
+    // next candidate to verify
+    private int cursor = 0;
+    private int[] matches = new int[64];
+    private int count = 0;
+    private boolean complete = false;
+
+    CatalogResult(CatalogIndex index, int[] candidates, String text, BitSet tagMask) {
+        this.index = index;
+        this.candidates = candidates;
+        this.text = text;
+        this.tagMask = tagMask;
+    }
+
+    static CatalogResult empty(CatalogIndex index) {
+        CatalogResult result = new CatalogResult(index, new int[0], "", null);
+        result.complete = true;
+        return result;
+    }
+
+    /**
+     * Retrieves a range of matches, evaluating only as far as needed.
+     *
+     * @param from   The first match
+     * @param length The maximum number of matches
+     * @return The matching items, fewer than length at the end of the result
+     */
+    public List<GuiItem> slice(int from, int length) {
+        fill(from + length);
+        int to = Math.min(count, from + length);
+        List<GuiItem> items = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            items.add(index.get(matches[i]));
+        }
+        return items;
+    }
+
+    /**
+     * Checks if there is a match at a position, evaluating only as far as needed.
+     *
+     * @param position The position of the match
+     * @return True if the result has more than position matches
+     */
+    public boolean has(int position) {
+        return fill(position + 1);
+    }
+
+    /**
+     * Counts the matches, this evaluates the whole result.
+     *
+     * @return The number of matches
+     */
+    public int size() {
+        fill(Integer.MAX_VALUE);
+        return count;
+    }
+
+    /**
+     * Checks if every candidate was verified.
+     *
+     * @return True if {@link #size()} is known without further work
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private boolean fill(int needed) {
+        while (count < needed && !complete) {
+            int position = nextCandidate();
+            if (position < 0) {
+                complete = true;
+                break;
+            }
+            if (!text.isEmpty() && !index.getName(position).contains(text)) continue;
+            if (count == matches.length) matches = Arrays.copyOf(matches, count * 2);
+            matches[count++] = position;
+        }
+        return count >= needed;
+    }
+
+    private int nextCandidate() {
+        if (candidates != null) {
+            while (cursor < candidates.length) {
+                int position = candidates[cursor++];
+                if (tagMask == null || tagMask.get(position)) return position;
+            }
+            return -1;
+        }
+        if (tagMask != null) {
+            int position = tagMask.nextSetBit(cursor);
+            if (position < 0) return -1;
+            cursor = position + 1;
+            return position;
+        }
+        return cursor < index.size() ? cursor++ : -1;
+    }
+
+}
@@ -2,6 +2,9 @@ package me.xflyiwnl.colorfulgui.provider;
 
 import me.xflyiwnl.colorfulgui.ColorfulGUI;
 import me.xflyiwnl.colorfulgui.object.Gui;
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.session.GuiSession;
+import me.xflyiwnl.colorfulgui.session.SessionStore;
 import me.xflyiwnl.colorfulgui.task.UpdateTask;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -12,6 +15,8 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 public abstract class ColorfulProvider<T extends Gui> implements InventoryHolder {
 
     // Player
@@ -63,6 +68,17 @@ public abstract class ColorfulProvider<T extends Gui> implements InventoryHolder
     public void update() {
     }
 
+    /**
+     * Shows the result of an update tick, called by the UpdateTask after {@link #update()} and the item handlers ran.
+     * By default the GUI shows it, see {@link Gui#showUpdated(Collection)}.
+     * Subclasses that know what their update changed can write only that.
+     *
+     * @param items The items whose update handler ran
+     */
+    public void showUpdated(Collection<? extends GuiItem> items) {
+        gui.showUpdated(items);
+    }
+
     /**
      * Called when a player clicks in the GUI inventory.
      * Subclasses can override this method to handle custom click behavior.
@@ -104,9 +120,39 @@ public abstract class ColorfulProvider<T extends Gui> implements InventoryHolder
      * This method renders and opens the GUI inventory.
      */
     public void show() {
+        SessionStore.restore(this);
         getGui().show(player);
     }
 
+    /**
+     * Retrieves the key the session of this provider type is saved under.
+     * Return a stable name (for example {@code "shop"}) to restore the page, scroll offset
+     * and filter of the player the next time this kind of GUI opens, even after a restart.
+     *
+     * @return The session key, or null to not persist sessions (the default)
+     */
+    public String getSessionKey() {
+        return null;
+    }
+
+    /**
+     * Called when the session of the player is saved, after the GUI wrote its own state.
+     * Subclasses can add state only they know, such as the sort order or the selected tab.
+     *
+     * @param session The session being saved
+     */
+    public void onSessionSave(GuiSession session) {
+    }
+
+    /**
+     * Called when a saved session is restored, after the GUI restored its own state
+     * and before it is shown.
+     *
+     * @param session The saved session
+     */
+    public void onSessionRestore(GuiSession session) {
+    }
+
     @Override
     public @NotNull Inventory getInventory() {
         return getGui().getInventory();
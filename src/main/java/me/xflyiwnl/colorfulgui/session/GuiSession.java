@@ -0,0 +1,105 @@
+package me.xflyiwnl.colorfulgui.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of a GUI a player had open, restored the next time the same kind of GUI opens.
+ * GUIs fill in what they track themselves (page, scroll offset, filter); providers add
+ * what only they know, such as the name of the sort order or the selected tab.
+ */
+public class GuiSession {
+
+    // page, starting at 1
+    private int page = 1;
+    // first visible line of a scrollable GUI
+    private int offset = 0;
+    // search text of a paginated GUI
+    private String filterText = "";
+    // tag filter of a paginated GUI
+    private List<String> filterTags = Collections.emptyList();
+    // name of the sort order, chosen by the provider
+    private String sort = "";
+    // name of the selected tab, chosen by the provider
+    private String tab = "";
+    // last time the session was saved, epoch millis
+    private long lastUsed = System.currentTimeMillis();
+
+    public GuiSession() {
+    }
+
+    /**
+     * Creates a copy of the session.
+     *
+     * @return A new session with the same state
+     **/
+    public GuiSession copy() {
+        GuiSession copy = new GuiSession();
+        copy.page = page;
+        copy.offset = offset;
+        copy.filterText = filterText;
+        copy.filterTags = filterTags;
+        copy.sort = sort;
+        copy.tab = tab;
+        copy.lastUsed = lastUsed;
+        return copy;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = Math.max(1, page);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = Math.max(0, offset);
+    }
+
+    public String getFilterText() {
+        return filterText;
+    }
+
+    public void setFilterText(String filterText) {
+        this.filterText = filterText == null ? "" : filterText;
+    }
+
+    public List<String> getFilterTags() {
+        return filterTags;
+    }
+
+    public void setFilterTags(List<String> filterTags) {
+        this.filterTags = filterTags == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(filterTags));
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort == null ? "" : sort;
+    }
+
+    public String getTab() {
+        return tab;
+    }
+
+    public void setTab(String tab) {
+        this.tab = tab == null ? "" : tab;
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public void setLastUsed(long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+}
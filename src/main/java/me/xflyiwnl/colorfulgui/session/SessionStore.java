@@ -0,0 +1,317 @@
+package me.xflyiwnl.colorfulgui.session;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Keeps the {@link GuiSession} of every player per provider type.
+ * Sessions live in memory, so restoring one on open is a map lookup. The file {@code sessions.dat}
+ * in the plugin folder is read by a background thread when the plugin enables, and saved sessions are
+ * written to it by the same thread; all sessions saved within one flush interval are written together.
+ * Only providers returning a key from {@link ColorfulProvider#getSessionKey()} are persisted.
+ */
+public class SessionStore {
+
+    private static final int MAGIC = 0x43475353; // "CGSS"
+    private static final int VERSION = 1;
+    private static final String FILE_NAME = "sessions.dat";
+
+    // "player uuid/provider key" -> session
+    private static final Map<String, GuiSession> sessions = new ConcurrentHashMap<>();
+    private static final AtomicBoolean dirty = new AtomicBoolean();
+
+    // true once loading the file was started, and once it finished
+    private static volatile boolean loadStarted = false;
+    private static volatile boolean loaded = false;
+    // keys removed before the file was loaded, they are not restored from it
+    private static final Set<String> removedBeforeLoad = ConcurrentHashMap.newKeySet();
+    private static volatile long flushIntervalMillis = TimeUnit.SECONDS.toMillis(10);
+    private static volatile long expiryMillis = TimeUnit.DAYS.toMillis(30);
+
+    private static ScheduledThreadPoolExecutor writer;
+    // held while the file is read or written, never by the main thread
+    private static final Object fileLock = new Object();
+
+    private SessionStore() {
+    }
+
+    /**
+     * Starts reading the saved sessions in the background, called when the plugin enables.
+     * Until the file was read no session is restored; sessions saved meanwhile replace the ones in the file.
+     **/
+    public static void load() {
+        if (loadStarted) return;
+        synchronized (SessionStore.class) {
+            if (loadStarted) return;
+            loadStarted = true;
+            writer().execute(() -> {
+                synchronized (fileLock) {
+                    readFile();
+                }
+                loaded = true;
+                removedBeforeLoad.clear();
+            });
+        }
+    }
+
+    /**
+     * Restores the saved session of a provider's player into its GUI and the provider.
+     * Does nothing if the provider does not persist sessions, none was saved or the file is still being read.
+     *
+     * @param provider The provider about to be shown
+     **/
+    public static void restore(ColorfulProvider<?> provider) {
+        String key = provider.getSessionKey();
+        if (key == null || provider.getPlayer() == null) return;
+        GuiSession session = get(provider.getPlayer().getUniqueId(), key);
+        if (session == null) return;
+        provider.getGui().restoreSession(session);
+        provider.onSessionRestore(session);
+    }
+
+    /**
+     * Saves the session of a provider's player, the file is written in the background.
+     * Does nothing if the provider does not persist sessions.
+     *
+     * @param provider The provider being closed
+     **/
+    public static void save(ColorfulProvider<?> provider) {
+        String key = provider.getSessionKey();
+        if (key == null || provider.getPlayer() == null) return;
+        GuiSession session = new GuiSession();
+        provider.getGui().saveSession(session);
+        provider.onSessionSave(session);
+        put(provider.getPlayer().getUniqueId(), key, session);
+    }
+
+    /**
+     * Retrieves a saved session.
+     *
+     * @param player The unique id of the player
+     * @param key    The session key of the provider type
+     * @return A copy of the session, or null if none was saved or the file is still being read
+     **/
+    public static GuiSession get(UUID player, String key) {
+        if (!loaded) {
+            load();
+            return null;
+        }
+        GuiSession session = sessions.get(player + "/" + key);
+        return session == null ? null : session.copy();
+    }
+
+    /**
+     * Saves a session, the file is written in the background.
+     *
+     * @param player  The unique id of the player
+     * @param key     The session key of the provider type
+     * @param session The session
+     **/
+    public static void put(UUID player, String key, GuiSession session) {
+        load();
+        GuiSession copy = session.copy();
+        copy.setLastUsed(System.currentTimeMillis());
+        sessions.put(player + "/" + key, copy);
+        scheduleFlush();
+    }
+
+    /**
+     * Forgets a saved session.
+     *
+     * @param player The unique id of the player
+     * @param key    The session key of the provider type
+     **/
+    public static void remove(UUID player, String key) {
+        load();
+        if (!loaded) {
+            removedBeforeLoad.add(player + "/" + key);
+            sessions.remove(player + "/" + key);
+            scheduleFlush();
+        } else if (sessions.remove(player + "/" + key) != null) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Sets how long saved sessions are batched before the file is written.
+     *
+     * @param seconds The flush interval in seconds
+     **/
+    public static void setFlushInterval(long seconds) {
+        flushIntervalMillis = TimeUnit.SECONDS.toMillis(Math.max(1, seconds));
+    }
+
+    /**
+     * Sets after how long an unused session is dropped.
+     *
+     * @param days The expiry in days
+     **/
+    public static void setExpiry(long days) {
+        expiryMillis = TimeUnit.DAYS.toMillis(Math.max(1, days));
+    }
+
+    /**
+     * Retrieves the number of sessions in memory.
+     *
+     * @return The session count
+     **/
+    public static int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops the background writer and writes every session now.
+     * A write already running is awaited instead of interrupted, the final write always happens.
+     **/
+    public static synchronized void shutdown() {
+        boolean interrupted = false;
+        if (writer != null) {
+            // pending flushes are dropped, the final write below covers them
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    ColorfulGUI.getInstance().getLogger().warning("Timed out waiting for " + FILE_NAME + " to be written");
+                }
+            } catch (InterruptedException e) {
+                // file channels close when the writing thread is interrupted, the flag is restored after the write
+                interrupted = true;
+            }
+            writer = null;
+        }
+        dirty.set(false);
+        if (loaded) {
+            write();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void scheduleFlush() {
+        if (!dirty.compareAndSet(false, true)) return;
+        synchronized (SessionStore.class) {
+            // runs after the load, which was queued on the same thread first
+            writer().schedule(() -> {
+                if (dirty.getAndSet(false)) write();
+            }, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor writer() {
+        if (writer == null) {
+            writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "ColorfulGUI-sessions");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+        return writer;
+    }
+
+    private static void readFile() {
+        Path path = file();
+        if (!Files.exists(path)) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                ColorfulGUI.getInstance().getLogger().warning("Ignoring " + FILE_NAME + " written by another version");
+                return;
+            }
+            long oldest = System.currentTimeMillis() - expiryMillis;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = new UUID(in.readLong(), in.readLong()) + "/" + in.readUTF();
+                GuiSession session = new GuiSession();
+                session.setLastUsed(in.readLong());
+                session.setPage(in.readInt());
+                session.setOffset(in.readInt());
+                session.setFilterText(in.readUTF());
+                int tags = in.readUnsignedShort();
+                List<String> filterTags = new ArrayList<>(tags);
+                for (int tag = 0; tag < tags; tag++) {
+                    filterTags.add(in.readUTF());
+                }
+                session.setFilterTags(filterTags);
+                session.setSort(in.readUTF());
+                session.setTab(in.readUTF());
+                if (session.getLastUsed() >= oldest && !removedBeforeLoad.contains(key)) {
+                    sessions.putIfAbsent(key, session);
+                }
+            }
+        } catch (IOException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not read " + FILE_NAME, e);
+        }
+    }
+
+    private static void write() {
+        // writing before the file was read would drop the sessions stored in it
+        if (!loaded) return;
+        synchronized (fileLock) {
+            writeFile();
+        }
+    }
+
+    private static void writeFile() {
+        Path path = file();
+        Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+        long oldest = System.currentTimeMillis() - expiryMillis;
+        sessions.values().removeIf(session -> session.getLastUsed() < oldest);
+        List<Map.Entry<String, GuiSession>> entries = new ArrayList<>(sessions.entrySet());
+
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, GuiSession> entry : entries) {
+                    String key = entry.getKey();
+                    int separator = key.indexOf('/');
+                    UUID player = UUID.fromString(key.substring(0, separator));
+                    GuiSession session = entry.getValue();
+                    out.writeLong(player.getMostSignificantBits());
+                    out.writeLong(player.getLeastSignificantBits());
+                    out.writeUTF(key.substring(separator + 1));
+                    out.writeLong(session.getLastUsed());
+                    out.writeInt(session.getPage());
+                    out.writeInt(session.getOffset());
+                    out.writeUTF(session.getFilterText());
+                    out.writeShort(session.getFilterTags().size());
+                    for (String tag : session.getFilterTags()) {
+                        out.writeUTF(tag);
+                    }
+                    out.writeUTF(session.getSort());
+                    out.writeUTF(session.getTab());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Could not write " + FILE_NAME, e);
+        }
+    }
+
+    private static Path file() {
+        return ColorfulGUI.getInstance().getDataFolder().toPath().resolve(FILE_NAME);
+    }
+
+}
@@ -0,0 +1,96 @@
+package me.xflyiwnl.colorfulgui.task;
+
+import me.xflyiwnl.colorfulgui.object.Gui;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Task that advances the animated items of every open GUI once per tick.
+ * A single task serves all GUIs; it only runs while at least one animated GUI is open.
+ * On Folia the clock runs on the global region and every GUI is animated on the thread of its viewer.
+ */
+public class AnimationTask implements Runnable {
+
+    private static final Set<Gui> guis = Collections.newSetFromMap(new IdentityHashMap<>());
+    // per GUI tasks on Folia
+    private static final Map<Gui, GuiScheduler.Task> viewerTasks = new IdentityHashMap<>();
+    private static GuiScheduler.Task task;
+    // global animation clock in ticks
+    private static volatile long tick = 0;
+
+    private AnimationTask() {
+    }
+
+    /**
+     * Starts animating a GUI, called when it is opened.
+     *
+     * @param gui The GUI to animate
+     */
+    public static synchronized void register(Gui gui) {
+        if (!gui.hasAnimations()) return;
+        if (!guis.add(gui)) return;
+        if (task == null) {
+            task = GuiScheduler.runTimer(null, new AnimationTask(), 1, 1);
+        }
+        if (GuiScheduler.isFolia()) {
+            Player viewer = gui.getHolder().getPlayer();
+            viewerTasks.put(gui, GuiScheduler.runTimer(viewer, () -> gui.animate(tick), 1, 1));
+        }
+    }
+
+    /**
+     * Stops animating a GUI, called when it is closed.
+     *
+     * @param gui The GUI to stop animating
+     */
+    public static synchronized void unregister(Gui gui) {
+        guis.remove(gui);
+        GuiScheduler.Task viewerTask = viewerTasks.remove(gui);
+        if (viewerTask != null) viewerTask.cancel();
+        if (guis.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the task and forgets every GUI.
+     */
+    public static synchronized void stop() {
+        guis.clear();
+        viewerTasks.values().forEach(GuiScheduler.Task::cancel);
+        viewerTasks.clear();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Gets the tick of the global animation clock.
+     *
+     * @return The current tick
+     */
+    public static long getTick() {
+        return tick;
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        if (GuiScheduler.isFolia()) return;
+        List<Gui> snapshot;
+        synchronized (AnimationTask.class) {
+            snapshot = new ArrayList<>(guis);
+        }
+        for (Gui gui : snapshot) {
+            gui.animate(tick);
+        }
+    }
+
+}
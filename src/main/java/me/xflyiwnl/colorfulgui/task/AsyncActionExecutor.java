@@ -0,0 +1,144 @@
+package me.xflyiwnl.colorfulgui.task;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.object.GuiItem;
+import me.xflyiwnl.colorfulgui.object.action.click.ClickContinuation;
+import me.xflyiwnl.colorfulgui.object.event.click.ClickAsyncItemEvent;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Runs {@link me.xflyiwnl.colorfulgui.object.action.click.ClickAsyncAction}s on virtual threads
+ * and applies their continuations on the thread of the GUI's player, see {@link GuiScheduler}.
+ */
+public class AsyncActionExecutor {
+
+    private static ExecutorService executor;
+    // set once shut down, later tasks are rejected instead of starting a new executor
+    private static boolean shutdown = false;
+
+    private AsyncActionExecutor() {
+    }
+
+    /**
+     * Runs the async action of an item.
+     * The item must already be locked with {@link GuiItem#tryLock()}; it is unlocked
+     * after the continuation was applied, or when the action failed.
+     *
+     * @param provider The provider of the clicked GUI
+     * @param event    The snapshot of the click
+     **/
+    public static void execute(ColorfulProvider<?> provider, ClickAsyncItemEvent event) {
+        GuiItem item = event.getCurrentItem();
+        try {
+            executor().execute(() -> run(provider, event));
+        } catch (RejectedExecutionException e) {
+            item.unlock();
+        }
+    }
+
+    private static void run(ColorfulProvider<?> provider, ClickAsyncItemEvent event) {
+        GuiItem item = event.getCurrentItem();
+        ClickContinuation continuation;
+        try {
+            continuation = item.getAsyncAction().execute(event);
+        } catch (Throwable throwable) {
+            ColorfulGUI.getInstance().getLogger().log(Level.SEVERE,
+                    "Async click action of " + provider.getClass().getName() + " failed (item " + item.getUniqueId() + ")", throwable);
+            item.unlock();
+            return;
+        }
+
+        JavaPlugin plugin = ColorfulGUI.getInstance();
+        if (!plugin.isEnabled()) {
+            item.unlock();
+            return;
+        }
+        GuiScheduler.run(provider.getPlayer(), () -> {
+            try {
+                Player player = Bukkit.getPlayer(event.getPlayerId());
+                if (continuation != null && player != null && player.isOnline()) {
+                    continuation.apply(provider, player);
+                }
+            } finally {
+                item.unlock();
+            }
+        }, item::unlock);
+    }
+
+    /**
+     * Runs a task on a virtual thread and completes the returned future on the main thread,
+     * or the global region thread on Folia.
+     *
+     * @param task The task, must not touch Bukkit state
+     * @return The future of the result, failed if the task threw or the executor was shut down
+     **/
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return supply(null, task);
+    }
+
+    /**
+     * Runs a task on a virtual thread and completes the returned future on the thread of a player,
+     * so stages chained to it may touch the player's GUI.
+     *
+     * @param owner The player whose thread completes the future, or null for the main thread
+     * @param task  The task, must not touch Bukkit state
+     * @return The future of the result, failed if the task threw or the executor was shut down,
+     *         cancelled if the player left
+     **/
+    public static <T> CompletableFuture<T> supply(Player owner, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor().execute(() -> {
+                T result;
+                try {
+                    result = task.get();
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                JavaPlugin plugin = ColorfulGUI.getInstance();
+                if (!plugin.isEnabled()) {
+                    future.cancel(false);
+                    return;
+                }
+                GuiScheduler.run(owner, () -> future.complete(result), () -> future.cancel(false));
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (shutdown) {
+            throw new RejectedExecutionException("ColorfulGUI async executor is shut down");
+        }
+        if (executor == null) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ColorfulGUI-async-", 0).factory());
+        }
+        return executor;
+    }
+
+    /**
+     * Stops accepting async actions. Running actions finish, but their continuations are dropped.
+     * Actions started afterwards are rejected: their item is unlocked and supplied futures fail.
+     **/
+    public static synchronized void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package me.xflyiwnl.colorfulgui.task;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the work of ColorfulGUI on the thread owning it.
+ * On Folia a GUI belongs to the region of its viewer, so tasks with a player run on that player's
+ * entity scheduler and follow them across regions; tasks without a player run on the global region.
+ * On Paper and Spigot everything runs on the main thread through the Bukkit scheduler.
+ */
+public class GuiScheduler {
+
+    private static final boolean FOLIA = detectFolia();
+
+    private GuiScheduler() {
+    }
+
+    /**
+     * Handle of a scheduled task, independent of the scheduler that runs it.
+     */
+    public interface Task {
+
+        void cancel();
+
+        boolean isCancelled();
+
+        /**
+         * Retrieves the id of the underlying Bukkit task.
+         *
+         * @return The task id, or -1 on Folia where tasks have no id
+         **/
+        default int getTaskId() {
+            return -1;
+        }
+
+    }
+
+    /**
+     * Runs a task on the next tick.
+     *
+     * @param player The player whose thread runs the task, or null for the global thread
+     * @param task   The task, dropped if the player left before it ran
+     **/
+    public static void run(Entity player, Runnable task) {
+        run(player, task, null);
+    }
+
+    /**
+     * Runs a task on the next tick, or a fallback if the player left before it could run.
+     *
+     * @param player  The player whose thread runs the task, or null for the global thread
+     * @param task    The task
+     * @param retired Runs instead of the task if the player was removed, on Folia only; may be null
+     **/
+    public static void run(Entity player, Runnable task, Runnable retired) {
+        Plugin plugin = ColorfulGUI.getInstance();
+        if (!FOLIA) {
+            Bukkit.getScheduler().runTask(plugin, task);
+        } else if (player == null) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        } else if (!player.getScheduler().execute(plugin, task, retired, 1) && retired != null) {
+            retired.run();
+        }
+    }
+
+    /**
+     * Runs a task repeatedly.
+     *
+     * @param player The player whose thread runs the task, or null for the global thread
+     * @param task   The task, stopped when the player leaves
+     * @param delay  The delay before the first run, in ticks
+     * @param period The interval between runs, in ticks
+     * @return The handle to cancel the task
+     **/
+    public static Task runTimer(Entity player, Runnable task, long delay, long period) {
+        Plugin plugin = ColorfulGUI.getInstance();
+        if (!FOLIA) {
+            return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+        }
+        // Folia rejects a delay below one tick
+        long initialDelay = Math.max(1, delay);
+        if (player == null) {
+            return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), initialDelay, period));
+        }
+        ScheduledTask scheduled = player.getScheduler().runAtFixedRate(plugin, ignored -> task.run(), null, initialDelay, period);
+        return scheduled == null ? CANCELLED : wrap(scheduled);
+    }
+
+    /**
+     * Runs a task repeatedly off the tick threads.
+     *
+     * @param task   The task, must not touch worlds, entities or inventories
+     * @param delay  The delay before the first run, in ticks
+     * @param period The interval between runs, in ticks
+     * @return The handle to cancel the task
+     **/
+    public static Task runTimerAsync(Runnable task, long delay, long period) {
+        Plugin plugin = ColorfulGUI.getInstance();
+        if (!FOLIA) {
+            return wrap(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period));
+        }
+        return wrap(Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                delay * 50, Math.max(1, period) * 50, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Checks if the server runs regions on several threads.
+     *
+     * @return True on Folia
+     **/
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    private static Task wrap(BukkitTask task) {
+        return new Task() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+
+            @Override
+            public int getTaskId() {
+                return task.getTaskId();
+            }
+        };
+    }
+
+    private static Task wrap(ScheduledTask task) {
+        return new Task() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+
+    // returned when the entity was already removed, so the task never runs
+    private static final Task CANCELLED = new Task() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
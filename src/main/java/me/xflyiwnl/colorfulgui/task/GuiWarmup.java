@@ -0,0 +1,223 @@
+package me.xflyiwnl.colorfulgui.task;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.util.SkullCache;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Builds registered GUI templates ahead of time, so the first player opening a menu does not pay for
+ * building its items, colorizing its text or resolving its skulls.
+ * Steps run on the main thread (the global region on Folia) after {@link #start()}, as many per tick as fit in the time budget;
+ * a step should build one menu or item, a step that takes longer than the budget still runs whole.
+ *
+ * <pre>
+ * GuiWarmup.register("shop", ShopMenu::prebuild);
+ * GuiWarmup.skulls("heads", headUrls);
+ * GuiWarmup.setGateLogins(true);   // players wait in pre-login until the warm-up finished
+ * GuiWarmup.start();
+ * </pre>
+ */
+public class GuiWarmup implements Runnable {
+
+    private static final Queue<Step> steps = new ArrayDeque<>();
+    private static CompletableFuture<Void> done = new CompletableFuture<>();
+    private static GuiScheduler.Task task;
+
+    private static volatile long budgetNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    private static volatile boolean gateLogins = false;
+    private static volatile long gateTimeoutMillis = TimeUnit.SECONDS.toMillis(30);
+
+    private static volatile int total = 0;
+    private static volatile int completed = 0;
+    private static volatile int failed = 0;
+    private static long startedAt;
+    // percentage of the last progress message
+    private static int reported = 0;
+
+    private GuiWarmup() {
+    }
+
+    /**
+     * Registers a warm-up step, it runs on the main thread.
+     *
+     * @param name The name used in progress and error messages
+     * @param step Builds the menu or item, the result is usually kept by the caller
+     **/
+    public static synchronized void register(String name, Runnable step) {
+        if (done.isDone()) done = new CompletableFuture<>();
+        steps.add(new Step(name, step));
+        total++;
+    }
+
+    /**
+     * Registers one step per skull texture, each one interns the profile and head in {@link SkullCache}.
+     *
+     * @param name The name used in progress and error messages
+     * @param urls The texture URLs
+     **/
+    public static void skulls(String name, Collection<String> urls) {
+        for (String url : urls) {
+            register(name, () -> SkullCache.head(url));
+        }
+    }
+
+    /**
+     * Starts running the registered steps from the next tick.
+     * Steps registered later are run by the same task while it is active, or by the next start.
+     **/
+    public static synchronized void start() {
+        if (task != null) return;
+        if (steps.isEmpty()) {
+            done.complete(null);
+            return;
+        }
+        startedAt = System.nanoTime();
+        reported = 0;
+        task = GuiScheduler.runTimer(null, new GuiWarmup(), 1, 1);
+    }
+
+    /**
+     * Stops the warm-up, the remaining steps are dropped and waiting logins are released.
+     **/
+    public static synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        steps.clear();
+        done.complete(null);
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        long budget = budgetNanos;
+        do {
+            Step step;
+            synchronized (GuiWarmup.class) {
+                step = steps.poll();
+            }
+            if (step == null) break;
+            try {
+                step.task.run();
+            } catch (Throwable throwable) {
+                failed++;
+                ColorfulGUI.getInstance().getLogger().log(Level.WARNING, "Warm-up of " + step.name + " failed", throwable);
+            }
+            completed++;
+        } while (System.nanoTime() - start < budget);
+
+        report();
+    }
+
+    private static synchronized void report() {
+        if (!steps.isEmpty()) {
+            int percent = total == 0 ? 100 : completed * 100 / total;
+            if (percent / 25 > reported / 25) {
+                reported = percent;
+                ColorfulGUI.getInstance().getLogger().info("GUI warm-up " + percent + "% (" + completed + "/" + total + ")");
+            }
+            return;
+        }
+        ColorfulGUI.getInstance().getLogger().info("GUI warm-up finished: " + completed + " steps"
+                + (failed > 0 ? ", " + failed + " failed" : "") + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + " ms");
+        task.cancel();
+        task = null;
+        done.complete(null);
+    }
+
+    /**
+     * Blocks a pre-login until the warm-up finished, called from the async pre-login event.
+     * Does nothing unless logins are gated; the player is let in once the timeout elapsed.
+     **/
+    public static void awaitLogin() {
+        if (!gateLogins) return;
+        CompletableFuture<Void> future;
+        synchronized (GuiWarmup.class) {
+            if (task == null) return;
+            future = done;
+        }
+        try {
+            future.get(gateTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+        }
+    }
+
+    /**
+     * Retrieves a future completed when every registered step ran, completed on the main thread.
+     *
+     * @return The completion of the current warm-up
+     **/
+    public static synchronized CompletableFuture<Void> whenDone() {
+        return done;
+    }
+
+    /**
+     * Sets the main-thread time spent on steps per tick.
+     *
+     * @param budget The budget
+     * @param unit   The unit of the budget
+     **/
+    public static void setBudget(long budget, TimeUnit unit) {
+        budgetNanos = Math.max(1, unit.toNanos(budget));
+    }
+
+    /**
+     * Makes players wait in the async pre-login until the warm-up finished.
+     *
+     * @param gate True to gate logins
+     **/
+    public static void setGateLogins(boolean gate) {
+        gateLogins = gate;
+    }
+
+    /**
+     * Sets how long a login waits at most for the warm-up.
+     *
+     * @param timeout The timeout
+     * @param unit    The unit of the timeout
+     **/
+    public static void setGateTimeout(long timeout, TimeUnit unit) {
+        gateTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    public static boolean isRunning() {
+        return task != null;
+    }
+
+    public static int getTotal() {
+        return total;
+    }
+
+    public static int getCompleted() {
+        return completed;
+    }
+
+    public static int getFailed() {
+        return failed;
+    }
+
+    private static final class Step {
+
+        private final String name;
+        private final Runnable task;
+
+        private Step(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+
+    }
+
+}
@@ -1,26 +1,32 @@
 package me.xflyiwnl.colorfulgui.task;
 
+import me.xflyiwnl.colorfulgui.debug.HandlerWatchdog;
+import me.xflyiwnl.colorfulgui.jfr.GuiItemUpdateEvent;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
 import me.xflyiwnl.colorfulgui.object.DynamicItem;
+import me.xflyiwnl.colorfulgui.object.Gui;
 import me.xflyiwnl.colorfulgui.object.GuiItem;
 import me.xflyiwnl.colorfulgui.object.event.UpdateItemEvent;
 import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Task responsible for updating dynamic GUI items at regular intervals.
  * This task runs periodically to update dynamic items and refresh the GUI.
+ * It runs on the thread of the provider's player, see {@link GuiScheduler}.
+ * It is scheduled through {@link #startTask()} and {@link #cancel()}, it is no longer a
+ * {@link org.bukkit.scheduler.BukkitRunnable} and cannot be scheduled with {@code runTaskTimer}.
  */
-public class UpdateTask extends BukkitRunnable {
+public class UpdateTask implements Runnable {
 
     private JavaPlugin plugin;
     private int updateTime;
     private ColorfulProvider<?> provider;
     private boolean started = false;
+    private GuiScheduler.Task task;
 
     /**
      * Creates a new UpdateTask with the specified parameters.
@@ -42,23 +48,51 @@ public class UpdateTask extends BukkitRunnable {
     public void startTask() {
         if (started) return;
         started = true;
-        this.runTaskTimer(plugin, 0, updateTime);
+        task = GuiScheduler.runTimer(provider.getPlayer(), this, 0, updateTime);
+    }
+
+    /**
+     * Stops the task, it can be started again when the GUI is opened again.
+     */
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        started = false;
+    }
+
+    /**
+     * Checks if the task is not scheduled.
+     *
+     * @return true if the task was never started or was cancelled
+     */
+    public boolean isCancelled() {
+        return task == null || task.isCancelled();
+    }
+
+    /**
+     * Retrieves the id of the scheduled Bukkit task.
+     * The update task used to be a {@link org.bukkit.scheduler.BukkitRunnable}, this keeps its id accessor.
+     *
+     * @return The task id, or -1 if the task is not scheduled or runs on Folia
+     */
+    public int getTaskId() {
+        return task == null ? -1 : task.getTaskId();
     }
 
     @Override
     public void run() {
         provider.update();
 
-        Map<Integer, GuiItem> slotItems = new HashMap<Integer, GuiItem>(provider.getGui().getSetItems());
-        for (Integer id : slotItems.keySet()) {
-            GuiItem item = slotItems.get(id);
-            updateItem(item);
-        }
-        LinkedList<GuiItem> addItems = new LinkedList<GuiItem>(provider.getGui().getAddItems());
-        for (GuiItem item : addItems) {
+        Gui gui = provider.getGui();
+        List<GuiItem> updated = new ArrayList<GuiItem>();
+        for (GuiItem item : gui.getUpdatableItems()) {
+            if (!(item instanceof DynamicItem) || ((DynamicItem) item).getOnUpdate() == null) continue;
             updateItem(item);
+            updated.add(item);
         }
-        provider.getGui().render();
+        provider.showUpdated(updated);
     }
 
     /**
@@ -71,7 +105,25 @@ public class UpdateTask extends BukkitRunnable {
             DynamicItem dynamicItem = (DynamicItem) item;
             if (dynamicItem.getOnUpdate() == null) return;
             UpdateItemEvent<DynamicItem> event = new UpdateItemEvent<DynamicItem>(dynamicItem);
-            dynamicItem.getOnUpdate().execute(event);
+            GuiItemUpdateEvent jfrEvent = new GuiItemUpdateEvent();
+            jfrEvent.begin();
+            long start = GuiMetrics.start();
+            HandlerWatchdog.Invocation invocation = HandlerWatchdog.isEnabled()
+                    ? HandlerWatchdog.begin(HandlerWatchdog.Kind.UPDATE, provider, dynamicItem,
+                            provider.getGui().getItemIndex().getOrDefault(dynamicItem.getUniqueId(), -1), dynamicItem.getOnUpdate())
+                    : null;
+            try {
+                dynamicItem.getOnUpdate().execute(event);
+            } finally {
+                HandlerWatchdog.end(invocation);
+            }
+            GuiMetrics.recordUpdate(provider.getClass(), start);
+
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.setGui(provider.getGui());
+                jfrEvent.slot = provider.getGui().getItemIndex().getOrDefault(dynamicItem.getUniqueId(), -1);
+                jfrEvent.commit();
+            }
         }
     }
 
@@ -220,7 +220,11 @@ public class ColorUtils {
 		}
 	}
 	
-	private static ChatColor fromColor(Color color) {
+	static boolean hasHexSupport() {
+		return hexSupport;
+	}
+	
+	static ChatColor fromColor(Color color) {
 		try {
 			return (ChatColor) CHAT_COLOR_FROM_COLOR.invoke(null, color);
 		} catch (IllegalAccessException | InvocationTargetException e) {
@@ -0,0 +1,125 @@
+package me.xflyiwnl.colorfulgui.util;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.metrics.CacheCounter;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.profile.PlayerProfile;
+import org.bukkit.profile.PlayerTextures;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns texture profiles and prototype head stacks for URL-based skulls.
+ * Every texture URL is resolved once into a {@link PlayerProfile} with a stable
+ * {@link UUID} derived from the URL, so identical heads share one profile and
+ * the client can reuse its cached skin.
+ */
+public class SkullCache {
+
+    // texture url -> interned profile
+    private static final Map<String, PlayerProfile> profiles = new ConcurrentHashMap<>();
+    // texture url -> prototype head stack
+    private static final Map<String, ItemStack> heads = new ConcurrentHashMap<>();
+    // hit and miss counters of the head cache
+    private static final CacheCounter counter = GuiMetrics.cache("skull");
+
+    private SkullCache() {
+    }
+
+    /**
+     * Returns a copy of the cached prototype head for the texture URL.
+     * The prototype is built on the first call and reused afterwards.
+     *
+     * @param url The texture URL for the skull
+     * @return A new head {@link ItemStack}, or null if the URL is malformed
+     */
+    public static ItemStack head(String url) {
+        ItemStack prototype = heads.get(url);
+        if (prototype != null) {
+            counter.hit();
+        } else {
+            counter.miss();
+            PlayerProfile profile = profile(url);
+            if (profile == null) {
+                return null;
+            }
+
+            prototype = new ItemStack(Material.PLAYER_HEAD);
+            SkullMeta skullMeta = (SkullMeta) prototype.getItemMeta();
+            if (skullMeta != null) {
+                skullMeta.setOwnerProfile(profile);
+                prototype.setItemMeta(skullMeta);
+            }
+
+            ItemStack existing = heads.putIfAbsent(url, prototype);
+            if (existing != null) {
+                prototype = existing;
+            }
+        }
+        return prototype.clone();
+    }
+
+    /**
+     * Returns the interned profile for the texture URL.
+     * The returned profile is shared and must not be modified.
+     *
+     * @param url The texture URL for the skull
+     * @return The interned {@link PlayerProfile}, or null if the URL is malformed
+     */
+    public static PlayerProfile profile(String url) {
+        PlayerProfile profile = profiles.get(url);
+        if (profile != null) {
+            return profile;
+        }
+
+        profile = Bukkit.createPlayerProfile(uniqueId(url));
+        PlayerTextures textures = profile.getTextures();
+        try {
+            textures.setSkin(new URL(url));
+        } catch (MalformedURLException e) {
+            ColorfulGUI.getInstance().getLogger().warning("Invalid skull texture URL " + url + ": " + e.getMessage());
+            return null;
+        }
+        profile.setTextures(textures);
+
+        PlayerProfile existing = profiles.putIfAbsent(url, profile);
+        return existing != null ? existing : profile;
+    }
+
+    /**
+     * Derives the stable profile id used for the texture URL.
+     *
+     * @param url The texture URL for the skull
+     * @return A name-based {@link UUID} that is the same for the same URL
+     */
+    public static UUID uniqueId(String url) {
+        return UUID.nameUUIDFromBytes(("colorfulgui:skull:" + url).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Drops every interned profile and prototype head.
+     */
+    public static void clear() {
+        profiles.clear();
+        heads.clear();
+    }
+
+    /**
+     * Retrieves the number of interned texture URLs.
+     *
+     * @return The number of cached heads
+     */
+    public static int size() {
+        return heads.size();
+    }
+
+}
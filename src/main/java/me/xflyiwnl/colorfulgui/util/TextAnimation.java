@@ -0,0 +1,281 @@
+package me.xflyiwnl.colorfulgui.util;
+
+import me.xflyiwnl.colorfulgui.metrics.CacheCounter;
+import me.xflyiwnl.colorfulgui.metrics.GuiMetrics;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Animated text effect with precomputed frames.
+ * Every frame is a finished, colorized string, computed once when the effect is
+ * created and cached per text and parameters, keeping the most recently used ones. Playback is an array index, see {@link #frame(long)}.
+ * Effects need hex color support; without it every frame is the plain text.
+ */
+public class TextAnimation {
+
+    // most animations kept in the cache, the least recently used one is dropped first
+    private static final int CACHE_SIZE = 512;
+
+    // effect key -> animation, in access order
+    private static final Map<String, TextAnimation> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TextAnimation> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    // hit and miss counters of the animation cache
+    private static final CacheCounter counter = GuiMetrics.cache("text-animation");
+
+    private final String[] frames;
+    // ticks every frame is shown
+    private final int interval;
+
+    private TextAnimation(String[] frames, int interval) {
+        this.frames = frames;
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Creates an animation from frames, colorizing each of them once.
+     *
+     * @param interval The ticks every frame is shown
+     * @param frames   The frames, with color codes
+     * @return The animation
+     */
+    public static TextAnimation of(int interval, String... frames) {
+        String[] colorized = new String[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            colorized[i] = ColorUtils.colorize(frames[i]);
+        }
+        return new TextAnimation(colorized, interval);
+    }
+
+    /**
+     * A gradient that moves along the text and wraps around.
+     *
+     * @param text     The text, color codes are removed
+     * @param frames   The number of frames of one full cycle
+     * @param interval The ticks every frame is shown
+     * @param colors   The gradient stops as {@code #rrggbb}, at least two
+     * @return The animation
+     */
+    public static TextAnimation movingGradient(String text, int frames, int interval, String... colors) {
+        return cached("gradient", text, frames, interval, colors, () -> {
+            String plain = plain(text);
+            Color[] stops = decode(colors);
+            String[] result = new String[Math.max(1, frames)];
+            for (int f = 0; f < result.length; f++) {
+                double shift = f / (double) result.length;
+                StringBuilder builder = new StringBuilder(plain.length() * 15);
+                for (int i = 0; i < plain.length(); i++) {
+                    double position = i / (double) Math.max(1, plain.length()) + shift;
+                    append(builder, cyclic(stops, position - Math.floor(position)), plain.charAt(i));
+                }
+                result[f] = builder.toString();
+            }
+            return new TextAnimation(result, interval);
+        });
+    }
+
+    /**
+     * A highlight band that sweeps over the text.
+     *
+     * @param text      The text, color codes are removed
+     * @param base      The text color as {@code #rrggbb}
+     * @param highlight The color of the band as {@code #rrggbb}
+     * @param width     The half width of the band in characters
+     * @param interval  The ticks every frame is shown
+     * @return The animation
+     */
+    public static TextAnimation shimmer(String text, String base, String highlight, int width, int interval) {
+        return cached("shimmer", text, width, interval, new String[]{base, highlight}, () -> {
+            String plain = plain(text);
+            Color from = Color.decode(base);
+            Color to = Color.decode(highlight);
+            int band = Math.max(1, width);
+            String[] result = new String[plain.length() + band * 2];
+            for (int f = 0; f < result.length; f++) {
+                int center = f - band;
+                StringBuilder builder = new StringBuilder(plain.length() * 15);
+                for (int i = 0; i < plain.length(); i++) {
+                    double intensity = Math.max(0, 1 - Math.abs(i - center) / (double) band);
+                    append(builder, lerp(from, to, intensity), plain.charAt(i));
+                }
+                result[f] = builder.toString();
+            }
+            return new TextAnimation(result, interval);
+        });
+    }
+
+    /**
+     * Types the text one character per frame, then holds it.
+     *
+     * @param text     The text, with color codes
+     * @param hold     The number of extra frames the full text is shown
+     * @param interval The ticks every frame is shown
+     * @return The animation
+     */
+    public static TextAnimation typewriter(String text, int hold, int interval) {
+        return cached("typewriter", text, hold, interval, new String[0], () -> {
+            List<String> characters = ColorUtils.charactersWithColors(ColorUtils.colorize(text));
+            String[] result = new String[characters.size() + 1 + Math.max(0, hold)];
+            StringBuilder builder = new StringBuilder();
+            result[0] = "";
+            for (int i = 0; i < characters.size(); i++) {
+                builder.append(characters.get(i));
+                result[i + 1] = builder.toString();
+            }
+            Arrays.fill(result, characters.size() + 1, result.length, builder.toString());
+            return new TextAnimation(result, interval);
+        });
+    }
+
+    /**
+     * Shows the whole text in one color after another.
+     *
+     * @param text     The text, color codes are removed
+     * @param interval The ticks every frame is shown
+     * @param colors   The colors as {@code #rrggbb}
+     * @return The animation
+     */
+    public static TextAnimation colorCycle(String text, int interval, String... colors) {
+        return cached("cycle", text, 0, interval, colors, () -> {
+            String plain = plain(text);
+            Color[] decoded = decode(colors);
+            String[] result = new String[decoded.length];
+            for (int f = 0; f < decoded.length; f++) {
+                result[f] = ColorUtils.hasHexSupport() ? ColorUtils.fromColor(decoded[f]) + plain : plain;
+            }
+            return new TextAnimation(result, interval);
+        });
+    }
+
+    /**
+     * Retrieves the frame shown at a tick.
+     *
+     * @param tick The tick, for example {@link me.xflyiwnl.colorfulgui.task.AnimationTask#getTick()}
+     * @return The colorized text of the frame
+     */
+    public String frame(long tick) {
+        return frames[(int) (Math.floorDiv(tick, interval) % frames.length)];
+    }
+
+    /**
+     * Retrieves the index of the frame shown at a tick.
+     *
+     * @param tick The tick
+     * @return The frame index
+     */
+    public int frameIndex(long tick) {
+        return (int) (Math.floorDiv(tick, interval) % frames.length);
+    }
+
+    /**
+     * Retrieves a frame.
+     *
+     * @param index The frame index
+     * @return The colorized text of the frame
+     */
+    public String getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * Retrieves every frame.
+     *
+     * @return A copy of the frames
+     */
+    public List<String> getFrames() {
+        return new ArrayList<>(Arrays.asList(frames));
+    }
+
+    /**
+     * Retrieves the number of frames.
+     *
+     * @return The frame count
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Retrieves the ticks every frame is shown.
+     *
+     * @return The interval in ticks
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Drops every cached animation.
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static TextAnimation cached(String effect, String text, int count, int interval, String[] colors, Supplier<TextAnimation> factory) {
+        String key = effect + '\0' + text + '\0' + count + '\0' + interval + '\0' + String.join(",", colors);
+        TextAnimation animation;
+        synchronized (cache) {
+            animation = cache.get(key);
+        }
+        if (animation != null) {
+            counter.hit();
+            return animation;
+        }
+        counter.miss();
+        // frames are computed outside the lock, a concurrent miss for the same key keeps the first result
+        animation = factory.get();
+        synchronized (cache) {
+            TextAnimation existing = cache.putIfAbsent(key, animation);
+            return existing != null ? existing : animation;
+        }
+    }
+
+    private static String plain(String text) {
+        return ColorUtils.removeColors(ColorUtils.colorize(text));
+    }
+
+    private static Color[] decode(String[] colors) {
+        if (colors.length == 0) {
+            throw new IllegalArgumentException("At least one color is needed");
+        }
+        Color[] decoded = new Color[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            decoded[i] = Color.decode(colors[i]);
+        }
+        return decoded;
+    }
+
+    private static void append(StringBuilder builder, Color color, char character) {
+        if (ColorUtils.hasHexSupport()) {
+            builder.append(ColorUtils.fromColor(color));
+        }
+        builder.append(character);
+    }
+
+    // color at a position in [0, 1) of a gradient that wraps from the last stop back to the first
+    private static Color cyclic(Color[] stops, double position) {
+        if (stops.length == 1) return stops[0];
+        double scaled = position * stops.length;
+        int index = (int) scaled;
+        return lerp(stops[index % stops.length], stops[(index + 1) % stops.length], scaled - index);
+    }
+
+    private static Color lerp(Color from, Color to, double t) {
+        return new Color(
+                (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t),
+                (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t),
+                (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t));
+    }
+
+}
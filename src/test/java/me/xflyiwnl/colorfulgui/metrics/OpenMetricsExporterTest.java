@@ -0,0 +1,95 @@
+package me.xflyiwnl.colorfulgui.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenMetricsExporterTest {
+
+    private static final String[] FAMILIES = {
+            "colorfulgui_open_guis gauge",
+            "colorfulgui_live_providers gauge",
+            "colorfulgui_opens counter",
+            "colorfulgui_closes counter",
+            "colorfulgui_renders counter",
+            "colorfulgui_slot_writes counter",
+            "colorfulgui_clicks_rate_limited counter",
+            "colorfulgui_clicks_suppressed counter",
+            "colorfulgui_render_seconds summary",
+            "colorfulgui_click_seconds summary",
+            "colorfulgui_update_seconds summary",
+            "colorfulgui_cache_hits counter",
+            "colorfulgui_cache_misses counter",
+            "colorfulgui_cache_hit_ratio gauge"
+    };
+
+    @AfterEach
+    void stop() {
+        OpenMetricsExporter.stop();
+    }
+
+    @Test
+    void servesMetricsOverHttp() throws Exception {
+        CacheCounter cache = GuiMetrics.cache("exporter-test");
+        cache.hit();
+        cache.miss();
+
+        int port = OpenMetricsExporter.startHttp(0);
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(200, response.statusCode());
+        assertEquals(OpenMetricsExporter.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(null));
+        assertExposition(response.body());
+        assertTrue(response.body().contains("colorfulgui_cache_hits_total{cache=\"exporter-test\"} 1"));
+        assertTrue(response.body().contains("colorfulgui_cache_misses_total{cache=\"exporter-test\"} 1"));
+    }
+
+    @Test
+    void rejectsOtherMethods() throws Exception {
+        int port = OpenMetricsExporter.startHttp(0);
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(405, response.statusCode());
+    }
+
+    @Test
+    void writesTextfile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("nested").resolve("colorfulgui.prom");
+
+        OpenMetricsExporter.writeTextfile(file);
+        assertExposition(Files.readString(file, StandardCharsets.UTF_8));
+
+        // a second write replaces the file and leaves no temporary files behind
+        OpenMetricsExporter.writeTextfile(file);
+        assertExposition(Files.readString(file, StandardCharsets.UTF_8));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    private static void assertExposition(String body) {
+        for (String family : FAMILIES) {
+            assertTrue(body.contains("# TYPE " + family + "\n"), "missing family " + family);
+        }
+        assertTrue(body.endsWith("# EOF\n"), "exposition must end with # EOF");
+        assertFalse(body.substring(0, body.length() - "# EOF\n".length()).contains("# EOF"));
+    }
+
+}
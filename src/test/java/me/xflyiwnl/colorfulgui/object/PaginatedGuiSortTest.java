@@ -0,0 +1,180 @@
+package me.xflyiwnl.colorfulgui.object;
+
+import me.xflyiwnl.colorfulgui.ColorfulGUI;
+import me.xflyiwnl.colorfulgui.provider.ColorfulProvider;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaginatedGuiSortTest {
+
+    // above the async sort threshold, so sorting runs off the main thread
+    private static final int ITEMS = 5000;
+
+    private final Map<GuiItem, Integer> keys = new ConcurrentHashMap<>();
+    private final Comparator<GuiItem> ascending = Comparator.comparingInt(keys::get);
+    private final Comparator<GuiItem> descending = ascending.reversed();
+
+    private ServerMock server;
+    private PaginatedGui gui;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = MockBukkit.mock();
+        // the library constructor needs a plugin class loader, the mock plugin is installed directly
+        setInstance(MockBukkit.createMockPlugin());
+
+        TestProvider provider = new TestProvider(server.addPlayer());
+        GuiMask mask = new GuiMask();
+        mask.setMask(List.of(
+                "         ",
+                "         ",
+                "         ",
+                "         ",
+                "         ",
+                "         "));
+        gui = new PaginatedGui(provider, "Sorted", 6, mask);
+        gui.setHolder(provider);
+        mask.setGui(gui);
+        provider.setGui(gui);
+
+        for (int i = 0; i < ITEMS; i++) {
+            gui.addItem(item(i * 2));
+        }
+        await(gui.setSortOrder(ascending));
+        assertSorted(ascending, ITEMS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        MockBukkit.unmock();
+        setInstance(null);
+    }
+
+    @Test
+    void addWhileSortingKeepsShownOrder() throws Exception {
+        CompletableFuture<Void> sorting = gui.setSortOrder(descending);
+        gui.addItem(item(ITEMS + 1));
+
+        // still sorted by the order that is shown until the new one lands
+        assertSorted(ascending, ITEMS + 1);
+
+        await(sorting);
+        assertSorted(descending, ITEMS + 1);
+    }
+
+    @Test
+    void repositionWhileSortingIsMergedIn() throws Exception {
+        CompletableFuture<Void> sorting = gui.setSortOrder(descending);
+        awaitSorted();
+
+        GuiItem first = gui.contentItems().get(0);
+        gui.reposition(first, () -> keys.put(first, ITEMS * 2));
+        assertSorted(ascending, ITEMS);
+        assertSame(first, gui.contentItems().get(ITEMS - 1));
+
+        // the finished sort read the old key, the item is placed again by its new one
+        await(sorting);
+        assertSorted(descending, ITEMS);
+        assertSame(first, gui.contentItems().get(0));
+    }
+
+    @Test
+    void removeWhileSortingIsDropped() throws Exception {
+        CompletableFuture<Void> sorting = gui.setSortOrder(descending);
+        awaitSorted();
+
+        GuiItem removed = gui.contentItems().get(ITEMS / 2);
+        gui.removeItem(removed);
+
+        await(sorting);
+        assertSorted(descending, ITEMS - 1);
+        assertTrue(gui.contentItems().stream().noneMatch(item -> item == removed));
+    }
+
+    @Test
+    void changesOnEveryTickDoNotRestartTheSort() throws Exception {
+        CompletableFuture<Void> sorting = gui.setSortOrder(descending);
+
+        int added = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!sorting.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "sort was not applied");
+            gui.addItem(item(ITEMS * 2 + 1 + added++));
+            server.getScheduler().performOneTick();
+            Thread.sleep(1);
+        }
+        sorting.get();
+        assertSorted(descending, ITEMS + added);
+    }
+
+    private GuiItem item(int key) {
+        GuiItem item = new StaticItem(new ItemStack(Material.STONE), event -> {});
+        keys.put(item, key);
+        return item;
+    }
+
+    private void assertSorted(Comparator<GuiItem> order, int size) {
+        List<GuiItem> items = gui.contentItems();
+        assertEquals(size, items.size());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(order.compare(items.get(i - 1), items.get(i)) <= 0, "out of order at " + i);
+        }
+    }
+
+    // waits until the sorted items are handed to the main thread, without applying them
+    private void awaitSorted() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.getScheduler().getPendingTasks().isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "sort did not finish");
+            Thread.sleep(1);
+        }
+    }
+
+    private void await(CompletableFuture<Void> future) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!future.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "sort was not applied");
+            server.getScheduler().performOneTick();
+            Thread.sleep(1);
+        }
+        future.get();
+    }
+
+    private static void setInstance(JavaPlugin plugin) throws ReflectiveOperationException {
+        Field field = ColorfulGUI.class.getDeclaredField("instance");
+        field.setAccessible(true);
+        field.set(null, plugin);
+    }
+
+    private static class TestProvider extends ColorfulProvider<PaginatedGui> {
+
+        TestProvider(Player player) {
+            super(player);
+        }
+
+        @Override
+        public void init() {
+        }
+
+    }
+
+}